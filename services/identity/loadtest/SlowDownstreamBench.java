@@ -0,0 +1,231 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Slow-downstream load test for the two request-handling modes of the identity service
+ * (fixed platform-thread pool vs. spring.threads.virtual.enabled).
+ *
+ * Runs three HTTP parties in one JVM:
+ *  - a stub downstream (file-storage / notification stand-in) that answers after delay-ms
+ *  - a front server shaped like the service's request path: GET /slow makes one blocking
+ *    outbound call behind a bulkhead (tryAcquire, 503 when full, like OutboundHttpClients),
+ *    GET /fast answers immediately; requests run on either a fixed pool of pool-size platform
+ *    threads (Tomcat's server.tomcat.threads.max defaults to 200) or one virtual thread each
+ *  - a closed-loop load generator with concurrency clients, slow-pct of them calling /slow
+ *
+ * Prints one result line per run: throughput and latency percentiles per route, and 503s.
+ * The front server is the JDK HttpServer, not Tomcat + Spring, so absolute numbers are only
+ * comparable between modes of the same run, not with production.
+ *
+ * Usage (JDK 21+): java SlowDownstreamBench.java mode=platform|virtual [delay-ms=2000]
+ *   [pool-size=200] [max-concurrent=32] [concurrency=400] [slow-pct=50] [duration-s=20]
+ *   [warmup-s=5]
+ */
+public class SlowDownstreamBench {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 0) throw new IllegalArgumentException("Expected key=value, got " + arg);
+            opts.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        String mode = opts.getOrDefault("mode", "platform");
+        long delayMs = Long.parseLong(opts.getOrDefault("delay-ms", "2000"));
+        int poolSize = Integer.parseInt(opts.getOrDefault("pool-size", "200"));
+        int maxConcurrent = Integer.parseInt(opts.getOrDefault("max-concurrent", "32"));
+        int concurrency = Integer.parseInt(opts.getOrDefault("concurrency", "400"));
+        int slowPct = Integer.parseInt(opts.getOrDefault("slow-pct", "50"));
+        int durationS = Integer.parseInt(opts.getOrDefault("duration-s", "20"));
+        int warmupS = Integer.parseInt(opts.getOrDefault("warmup-s", "5"));
+        boolean virtual = switch (mode) {
+            case "platform" -> false;
+            case "virtual" -> true;
+            default -> throw new IllegalArgumentException("mode must be platform or virtual");
+        };
+
+        HttpServer downstream = startDownstream(delayMs);
+        URI downstreamUri = URI.create("http://127.0.0.1:" + downstream.getAddress().getPort() + "/");
+        ExecutorService frontExecutor = virtual
+            ? Executors.newVirtualThreadPerTaskExecutor()
+            : Executors.newFixedThreadPool(poolSize);
+        HttpServer front = startFront(frontExecutor, downstreamUri, virtual, maxConcurrent, delayMs);
+        String base = "http://127.0.0.1:" + front.getAddress().getPort();
+
+        Stats slow = new Stats();
+        Stats fast = new Stats();
+        AtomicBoolean recording = new AtomicBoolean();
+        AtomicBoolean running = new AtomicBoolean(true);
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+        List<Thread> clients = new ArrayList<>(concurrency);
+        int slowClients = concurrency * slowPct / 100;
+        for (int i = 0; i < concurrency; i++) {
+            boolean isSlow = i < slowClients;
+            URI uri = URI.create(base + (isSlow ? "/slow" : "/fast"));
+            Stats stats = isSlow ? slow : fast;
+            clients.add(Thread.ofVirtual().start(() -> {
+                HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).build();
+                while (running.get()) {
+                    long start = System.nanoTime();
+                    int status;
+                    try {
+                        status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (IOException e) {
+                        status = -1;
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    if (recording.get()) stats.record(status, System.nanoTime() - start);
+                    if (status != 200) {
+                        // Back off like a real caller instead of spinning on fast 503s
+                        sleep(ThreadLocalRandom.current().nextLong(50, 150));
+                    }
+                }
+            }));
+        }
+
+        Thread.sleep(warmupS * 1000L);
+        recording.set(true);
+        long start = System.nanoTime();
+        Thread.sleep(durationS * 1000L);
+        recording.set(false);
+        double elapsedS = (System.nanoTime() - start) / 1e9;
+        running.set(false);
+
+        System.out.printf("mode=%s delay-ms=%d pool-size=%s max-concurrent=%d concurrency=%d slow-pct=%d duration-s=%d%n",
+            mode, delayMs, virtual ? "-" : String.valueOf(poolSize), maxConcurrent, concurrency, slowPct, durationS);
+        System.out.println("  " + slow.summary("slow", elapsedS));
+        System.out.println("  " + fast.summary("fast", elapsedS));
+
+        for (Thread t : clients) t.join(Duration.ofSeconds(delayMs / 1000 + 65));
+        front.stop(0);
+        downstream.stop(0);
+        frontExecutor.shutdownNow();
+        System.exit(0);
+    }
+
+    private static HttpServer startDownstream(long delayMs) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", exchange -> {
+            sleep(delayMs);
+            respond(exchange, 200, "{\"ok\":true}");
+        });
+        server.start();
+        return server;
+    }
+
+    private static HttpServer startFront(ExecutorService executor, URI downstream, boolean virtual,
+                                         int maxConcurrent, long delayMs) throws IOException {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(2));
+        if (virtual) builder.executor(Executors.newVirtualThreadPerTaskExecutor());
+        HttpClient outbound = builder.build();
+        HttpRequest call = HttpRequest.newBuilder(downstream)
+            .timeout(Duration.ofMillis(delayMs + 5000))
+            .build();
+        Semaphore bulkhead = new Semaphore(Math.max(1, maxConcurrent));
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        server.setExecutor(executor);
+        server.createContext("/fast", exchange -> respond(exchange, 200, "{\"ok\":true}"));
+        server.createContext("/slow", exchange -> {
+            if (!bulkhead.tryAcquire()) {
+                respond(exchange, 503, "{\"error\":\"downstream_unavailable\"}");
+                return;
+            }
+            try {
+                HttpResponse<String> response = outbound.send(call, HttpResponse.BodyHandlers.ofString());
+                respond(exchange, response.statusCode(), response.body());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                respond(exchange, 503, "{\"error\":\"downstream_unavailable\"}");
+            } catch (IOException e) {
+                respond(exchange, 503, "{\"error\":\"downstream_unavailable\"}");
+            } finally {
+                bulkhead.release();
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getRequestBody().readAllBytes();
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Latencies of 200 responses (for percentiles) plus counts of everything else. */
+    private static final class Stats {
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private long[] latencies = new long[1 << 16];
+        private int count;
+
+        void record(int status, long nanos) {
+            if (status == 503) {
+                rejected.incrementAndGet();
+            } else if (status != 200) {
+                failed.incrementAndGet();
+            } else {
+                synchronized (this) {
+                    if (count == latencies.length) latencies = Arrays.copyOf(latencies, count * 2);
+                    latencies[count++] = nanos;
+                }
+            }
+        }
+
+        synchronized String summary(String route, double elapsedS) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return String.format("%-4s ok=%d (%.1f req/s) 503=%d errors=%d p50=%s p99=%s max=%s",
+                route, count, count / elapsedS, rejected.get(), failed.get(),
+                ms(sorted, 0.50), ms(sorted, 0.99), ms(sorted, 1.0));
+        }
+
+        private static String ms(long[] sorted, double q) {
+            if (sorted.length == 0) return "-";
+            int idx = Math.min(sorted.length - 1, (int) Math.ceil(q * sorted.length) - 1);
+            return String.format("%.0fms", sorted[Math.max(0, idx)] / 1e6);
+        }
+    }
+}
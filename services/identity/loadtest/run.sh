@@ -0,0 +1,22 @@
+#!/usr/bin/env bash
+# Runs SlowDownstreamBench in both request-handling modes and appends the output to
+# results/<date>.txt. Needs JDK 21+ (JAVA=/path/to/java to override).
+set -euo pipefail
+
+cd "$(dirname "$0")"
+JAVA="${JAVA:-java}"
+DURATION="${DURATION:-20}"
+OUT="results/$(date -u +%Y-%m-%d).txt"
+mkdir -p results
+
+{
+  echo "# $(date -u +%Y-%m-%dT%H:%M:%SZ) $("$JAVA" -version 2>&1 | head -1), $(nproc) CPU"
+  # Downstream 2s slow, 360 callers of /slow and 40 of /fast
+  for limit in 32 10000; do   # app.http.<target>.max-concurrent as configured, then effectively off
+    for mode in platform virtual; do
+      "$JAVA" SlowDownstreamBench.java mode="$mode" delay-ms=2000 max-concurrent="$limit" \
+        concurrency=400 slow-pct=90 duration-s="$DURATION" warmup-s=5
+    done
+  done
+  echo
+} | tee -a "$OUT"
@@ -0,0 +1,248 @@
+package com.datn.identity.application;
+
+import com.datn.identity.domain.audit.AuditAction;
+import com.datn.identity.domain.audit.AuditIngestRepository;
+import com.datn.identity.domain.audit.AuditLog;
+import com.datn.identity.domain.audit.AuditLogRepository;
+import com.datn.identity.infrastructure.persistence.RawJsonMap;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk audit ingestion for other services (file-storage, reports, ...).
+ *
+ * Input is NDJSON, one event per line:
+ *   {"orgId": "...", "userId": "...", "action": "FILE_UPLOADED", "description": "...",
+ *    "metadata": {...}, "ipAddress": "...", "userAgent": "...", "createdAt": "...", "id": "..."}
+ * orgId and action are required; action must belong to one of the allowed categories.
+ * createdAt defaults to now and must lie within max-age of now (older months may already be
+ * archived) and no earlier than the previous UTC month, the oldest partition
+ * AuditPartitionMaintainer keeps ready. Supplying id together with createdAt makes retries idempotent.
+ *
+ * Valid lines are written in batches of batch-size with one JDBC batch each; invalid lines
+ * are counted and the first max-errors of them reported with their line number.
+ */
+@Service
+public class AuditIngestService {
+    private static final Logger log = LoggerFactory.getLogger(AuditIngestService.class);
+    private static final int MAX_DESCRIPTION_LENGTH = 1000;
+    private static final int MAX_USER_AGENT_LENGTH = 500;
+    private static final int MAX_IP_LENGTH = 45;
+    private static final Duration MAX_CLOCK_SKEW = Duration.ofMinutes(5);
+
+    public record Rejection(long line, String error) {}
+
+    public record Result(long accepted, long rejected, List<Rejection> errors) {}
+
+    private final AuditLogRepository auditLogs;
+    private final AuditIngestRepository references;
+    private final ObjectMapper mapper;
+    private final int batchSize;
+    private final int maxErrors;
+    private final Duration maxAge;
+    private final Set<String> allowedCategories;
+
+    public AuditIngestService(AuditLogRepository auditLogs,
+                              AuditIngestRepository references,
+                              ObjectMapper mapper,
+                              @Value("${app.audit.ingest.batch-size:1000}") int batchSize,
+                              @Value("${app.audit.ingest.max-errors:100}") int maxErrors,
+                              @Value("${app.audit.ingest.max-age-hours:72}") long maxAgeHours,
+                              @Value("${app.audit.ingest.allowed-categories:FILE,REPORT}") String allowedCategories) {
+        this.auditLogs = auditLogs;
+        this.references = references;
+        this.mapper = mapper;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxErrors = Math.max(0, maxErrors);
+        this.maxAge = Duration.ofHours(maxAgeHours);
+        this.allowedCategories = Arrays.stream(allowedCategories.split(","))
+            .map(s -> s.trim().toUpperCase(Locale.ROOT))
+            .filter(s -> !s.isEmpty())
+            .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public Result ingest(BufferedReader reader) throws IOException {
+        var counters = new long[2]; // accepted, rejected
+        List<Rejection> errors = new ArrayList<>();
+        List<Candidate> batch = new ArrayList<>(batchSize);
+
+        long lineNo = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank()) continue;
+
+            try {
+                batch.add(new Candidate(lineNo, parse(line, Instant.now())));
+            } catch (IllegalArgumentException e) {
+                reject(counters, errors, lineNo, e.getMessage());
+                continue;
+            }
+
+            if (batch.size() >= batchSize) {
+                flush(batch, counters, errors);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch, counters, errors);
+        }
+        return new Result(counters[0], counters[1], errors);
+    }
+
+    private record Candidate(long line, AuditLog entry) {}
+
+    private void flush(List<Candidate> batch, long[] counters, List<Rejection> errors) {
+        Set<UUID> orgIds = new HashSet<>();
+        Set<UUID> userIds = new HashSet<>();
+        for (var c : batch) {
+            orgIds.add(c.entry().orgId());
+            if (c.entry().userId() != null) userIds.add(c.entry().userId());
+        }
+        Set<UUID> knownOrgs = references.findExistingOrgIds(orgIds);
+        Set<UUID> knownUsers = references.findExistingUserIds(userIds);
+
+        List<Candidate> valid = new ArrayList<>(batch.size());
+        for (var c : batch) {
+            if (!knownOrgs.contains(c.entry().orgId())) {
+                reject(counters, errors, c.line(), "unknown_org");
+            } else if (c.entry().userId() != null && !knownUsers.contains(c.entry().userId())) {
+                reject(counters, errors, c.line(), "unknown_user");
+            } else {
+                valid.add(c);
+            }
+        }
+        if (valid.isEmpty()) return;
+
+        try {
+            auditLogs.saveAll(valid.stream().map(Candidate::entry).toList());
+            counters[0] += valid.size();
+        } catch (DataAccessException e) {
+            // e.g. an org deleted between the reference check and the insert
+            log.warn("Audit ingest batch of {} failed: {}", valid.size(), e.getMessage());
+            for (var c : valid) {
+                reject(counters, errors, c.line(), "write_failed");
+            }
+        }
+    }
+
+    private void reject(long[] counters, List<Rejection> errors, long line, String error) {
+        counters[1]++;
+        if (errors.size() < maxErrors) {
+            errors.add(new Rejection(line, error));
+        }
+    }
+
+    private static Instant oldestPartitionStart(Instant now) {
+        return now.atZone(ZoneOffset.UTC).toLocalDate().withDayOfMonth(1).minusMonths(1)
+            .atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    private AuditLog parse(String line, Instant now) {
+        JsonNode node;
+        try {
+            node = mapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("invalid_json");
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("invalid_json");
+        }
+
+        UUID orgId = uuid(node, "orgId", true);
+        UUID userId = uuid(node, "userId", false);
+        UUID id = uuid(node, "id", false);
+
+        String actionName = text(node, "action");
+        if (actionName == null) throw new IllegalArgumentException("action_required");
+        AuditAction action;
+        try {
+            action = AuditAction.valueOf(actionName);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("invalid_action");
+        }
+        if (!allowedCategories.contains(action.getCategory())) {
+            throw new IllegalArgumentException("action_not_allowed");
+        }
+
+        Instant createdAt = now;
+        String at = text(node, "createdAt");
+        if (at != null) {
+            try {
+                createdAt = Instant.parse(at);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("invalid_created_at");
+            }
+            if (createdAt.isAfter(now.plus(MAX_CLOCK_SKEW)) || createdAt.isBefore(now.minus(maxAge))
+                    || createdAt.isBefore(oldestPartitionStart(now))) {
+                throw new IllegalArgumentException("created_at_out_of_range");
+            }
+        }
+
+        Map<String, Object> metadata = Map.of();
+        JsonNode meta = node.get("metadata");
+        if (meta != null && !meta.isNull()) {
+            if (!meta.isObject()) throw new IllegalArgumentException("invalid_metadata");
+            metadata = RawJsonMap.of(meta.toString(), mapper);
+        }
+
+        return new AuditLog(
+            id != null ? id : UUID.randomUUID(),
+            orgId,
+            userId,
+            action,
+            limit(text(node, "description"), MAX_DESCRIPTION_LENGTH),
+            metadata,
+            limit(text(node, "ipAddress"), MAX_IP_LENGTH),
+            limit(text(node, "userAgent"), MAX_USER_AGENT_LENGTH),
+            createdAt
+        );
+    }
+
+    private static UUID uuid(JsonNode node, String field, boolean required) {
+        String value = text(node, field);
+        String code = field.replaceAll("([A-Z])", "_$1").toLowerCase(Locale.ROOT);
+        if (value == null) {
+            if (required) throw new IllegalArgumentException(code + "_required");
+            return null;
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("invalid_" + code);
+        }
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode v = node.get(field);
+        if (v == null || v.isNull()) return null;
+        String s = v.asText().trim();
+        return s.isEmpty() ? null : s;
+    }
+
+    private static String limit(String value, int max) {
+        return value != null && value.length() > max ? value.substring(0, max) : value;
+    }
+}
@@ -3,38 +3,49 @@ package com.datn.identity.application;
 import com.datn.identity.domain.audit.AuditAction;
 import com.datn.identity.domain.audit.AuditLog;
 import com.datn.identity.domain.audit.AuditLogRepository;
+import com.datn.identity.infrastructure.audit.AsyncAuditWriter;
+import com.datn.identity.infrastructure.audit.AuditArchiveService;
 import com.datn.identity.interfaces.api.dto.Dtos;
-import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Service
 public class AuditLogService {
+    private static final int MAX_SEARCH_LENGTH = 200;
+
     private final AuditLogRepository auditLogs;
+    private final AsyncAuditWriter writer;
+    private final AuditArchiveService archive;
 
-    public AuditLogService(AuditLogRepository auditLogs) {
+    public AuditLogService(AuditLogRepository auditLogs, AsyncAuditWriter writer, AuditArchiveService archive) {
         this.auditLogs = auditLogs;
+        this.writer = writer;
+        this.archive = archive;
     }
 
     /**
-     * Log an audit event.
+     * Log an audit event asynchronously (batched by AsyncAuditWriter); inside a transaction
+     * it is queued on commit and dropped on rollback.
      */
-    @Transactional
     public void log(UUID orgId, UUID userId, AuditAction action, String description,
                     Map<String, Object> metadata, String ipAddress, String userAgent) {
         var log = AuditLog.create(orgId, userId, action, description, metadata, ipAddress, userAgent);
-        auditLogs.save(log);
+        writer.submitAfterCommit(log);
     }
 
     /**
      * Log a simple audit event without request context.
      */
-    @Transactional
     public void log(UUID orgId, UUID userId, AuditAction action, String description) {
         log(orgId, userId, action, description, null, null, null);
     }
@@ -42,14 +53,19 @@ public class AuditLogService {
     /**
      * Log a simple audit event with metadata.
      */
-    @Transactional
     public void log(UUID orgId, UUID userId, AuditAction action, String description, Map<String, Object> metadata) {
         log(orgId, userId, action, description, metadata, null, null);
     }
 
     /**
      * Query audit logs with filters.
+     *
+     * When from reaches into archived months the query reads through to the cold archive.
+     * Every archived entry is older than every live one, so the result is the live matches
+     * followed by the archived matches and a page may straddle the two. With filters, the
+     * archived part of total may be an upper bound (see AuditArchiveService.query).
      */
+    @Transactional(readOnly = true)
     public Dtos.PagedResponse<Dtos.AuditLogRes> query(
             UUID orgId,
             UUID userId,
@@ -57,6 +73,7 @@ public class AuditLogService {
             String category,
             Instant from,
             Instant to,
+            String q,
             int page,
             int size) {
 
@@ -69,8 +86,27 @@ public class AuditLogService {
             }
         }
 
-        List<AuditLog> logs = auditLogs.query(orgId, userId, auditAction, category, from, to, page, size);
-        long total = auditLogs.countQuery(orgId, userId, auditAction, category, from, to);
+        String search = q != null && !q.isBlank() ? q.strip() : null;
+        if (search != null && search.length() > MAX_SEARCH_LENGTH) {
+            throw new IllegalArgumentException("q must be at most " + MAX_SEARCH_LENGTH + " characters");
+        }
+
+        List<AuditLog> logs = auditLogs.query(orgId, userId, auditAction, category, from, to, search, page, size);
+        long total = auditLogs.countQuery(orgId, userId, auditAction, category, from, to, search);
+
+        if (archive.covers(from)) {
+            long archiveOffset = Math.max(0, (long) page * size - total);
+            boolean filtered = userId != null || auditAction != null || category != null || search != null;
+            var filter = filtered ? archiveFilter(userId, auditAction, category, search) : null;
+            String filterKey = filtered ? userId + "|" + auditAction + "|" + category + "|" + search : null;
+            // A full live page needs no archived rows: the archive then only contributes to total
+            var archived = archive.query(orgId, filter, filterKey, from, to, archiveOffset, size - logs.size());
+            if (!archived.items().isEmpty()) {
+                logs = new ArrayList<>(logs);
+                logs.addAll(archived.items());
+            }
+            total += archived.total();
+        }
         int totalPages = (int) Math.ceil((double) total / size);
 
         List<Dtos.AuditLogRes> items = logs.stream()
@@ -83,6 +119,7 @@ public class AuditLogService {
     /**
      * Get audit logs for an organization.
      */
+    @Transactional(readOnly = true)
     public Dtos.PagedResponse<Dtos.AuditLogRes> getByOrg(UUID orgId, int page, int size) {
         List<AuditLog> logs = auditLogs.findByOrgId(orgId, page, size);
         long total = auditLogs.countByOrgId(orgId);
@@ -111,6 +148,38 @@ public class AuditLogService {
             .collect(Collectors.toList());
     }
 
+    /**
+     * Same filters as AuditLogRepository.query (category keeps its "CATEGORY_%" semantics).
+     * Archived entries have no search_vector, so q is approximated by requiring every plain
+     * search term to appear in the description or a metadata value (case-insensitive);
+     * archived matches are not ranked.
+     */
+    private static Predicate<AuditLog> archiveFilter(UUID userId, AuditAction action, String category, String q) {
+        List<String> terms = searchTerms(q);
+        return log -> (userId == null || userId.equals(log.userId()))
+            && (action == null || action == log.action())
+            && (category == null || (log.action().name().startsWith(category)
+                && log.action().name().length() > category.length()))
+            && (terms.isEmpty() || containsAll(log, terms));
+    }
+
+    private static List<String> searchTerms(String q) {
+        if (q == null) return List.of();
+        return Arrays.stream(q.toLowerCase(Locale.ROOT).split("\\s+"))
+            .map(t -> t.replace("\"", ""))
+            .filter(t -> !t.isEmpty() && !t.startsWith("-") && !t.equals("or"))
+            .toList();
+    }
+
+    private static boolean containsAll(AuditLog log, List<String> terms) {
+        StringBuilder text = new StringBuilder(log.description() != null ? log.description() : "");
+        if (log.metadata() != null) {
+            log.metadata().values().forEach(v -> text.append(' ').append(v));
+        }
+        String haystack = text.toString().toLowerCase(Locale.ROOT);
+        return terms.stream().allMatch(haystack::contains);
+    }
+
     private Dtos.AuditLogRes toAuditLogRes(AuditLog log) {
         return new Dtos.AuditLogRes(
             log.id().toString(),
@@ -1,17 +1,20 @@
 package com.datn.identity.application;
 
-import com.datn.identity.domain.audit.AuditLog;
+import com.datn.identity.domain.audit.AuditAction;
+import com.datn.identity.domain.audit.AuditActivityEntry;
 import com.datn.identity.domain.audit.AuditLogRepository;
-import com.datn.identity.domain.org.MemberType;
-import com.datn.identity.domain.org.MembershipRepository;
-import com.datn.identity.domain.org.Organization;
+import com.datn.identity.domain.org.OrgStats;
+import com.datn.identity.domain.org.OrgStatsRepository;
 import com.datn.identity.domain.org.OrganizationRepository;
-import com.datn.identity.domain.user.UserRepository;
+import com.datn.identity.infrastructure.persistence.Workload;
+import com.datn.identity.infrastructure.persistence.WorkloadClass;
 import com.datn.identity.interfaces.api.dto.Dtos;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -19,24 +22,26 @@ import java.util.stream.Collectors;
 @Service
 public class DashboardService {
     private final OrganizationRepository orgs;
-    private final MembershipRepository memberships;
+    private final OrgStatsRepository orgStats;
     private final AuditLogRepository auditLogs;
-    private final UserRepository users;
+
+    private static final int RECENT_ACTIVITY_LIMIT = 10;
+    private static final int MAX_FEED_LIMIT = 100;
 
     public DashboardService(
             OrganizationRepository orgs,
-            MembershipRepository memberships,
-            AuditLogRepository auditLogs,
-            UserRepository users) {
+            OrgStatsRepository orgStats,
+            AuditLogRepository auditLogs) {
         this.orgs = orgs;
-        this.memberships = memberships;
+        this.orgStats = orgStats;
         this.auditLogs = auditLogs;
-        this.users = users;
     }
 
     /**
      * Get dashboard statistics for an organization.
      */
+    @Transactional(readOnly = true)
+    @WorkloadClass(Workload.REPORTING)
     public Dtos.DashboardStatsRes getDashboardStats(UUID orgId) {
         var org = orgs.findById(orgId)
             .orElseThrow(() -> new IllegalStateException("org_not_found"));
@@ -54,45 +59,50 @@ public class DashboardService {
     }
 
     private Dtos.MemberStats getMemberStats(UUID orgId) {
-        long total = memberships.countByOrg(orgId);
-        long owners = memberships.countByRole(orgId, "OWNER");
-        long admins = memberships.countByRole(orgId, "ADMIN");
-        long staff = memberships.countByMemberType(orgId, MemberType.STAFF);
-        long partners = memberships.countByMemberType(orgId, MemberType.PARTNER);
-
-        return new Dtos.MemberStats(total, owners, admins, staff, partners);
+        var stats = orgStats.findByOrgId(orgId).orElseGet(() -> OrgStats.empty(orgId));
+        return new Dtos.MemberStats(stats.memberTotal(), stats.owners(), stats.admins(), stats.staff(), stats.partners());
     }
 
     private Dtos.ActivityStats getActivityStats(UUID orgId) {
-        long totalActions = auditLogs.countByOrgId(orgId);
+        // Counts come from the daily rollup; "this week" is the last 7 UTC days including today
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        var summary = auditLogs.summarizeActivity(orgId, today, today.minusDays(6));
 
-        Instant now = Instant.now();
-        Instant startOfToday = now.truncatedTo(ChronoUnit.DAYS);
-        Instant startOfWeek = now.minus(7, ChronoUnit.DAYS);
+        var recentActivities = getActivityFeed(orgId, null, null, null, RECENT_ACTIVITY_LIMIT);
+
+        return new Dtos.ActivityStats(summary.total(), summary.today(), summary.thisWeek(), recentActivities);
+    }
 
-        long todayActions = auditLogs.countByOrgIdSince(orgId, startOfToday);
-        long thisWeekActions = auditLogs.countByOrgIdSince(orgId, startOfWeek);
+    /**
+     * Activity feed with the acting user's email and display name resolved in one query.
+     * category is optional (USER, ORGANIZATION, MEMBERSHIP, FILE, REPORT); limit is clamped to [1, 100].
+     */
+    @Transactional(readOnly = true)
+    @WorkloadClass(Workload.REPORTING)
+    public List<Dtos.RecentActivityRes> getActivityFeed(UUID orgId, String category, Instant from, Instant to, int limit) {
+        List<AuditAction> actions = null;
+        if (category != null && !category.isBlank()) {
+            actions = AuditAction.inCategory(category.toUpperCase());
+            if (actions.isEmpty()) {
+                throw new IllegalArgumentException("invalid_category");
+            }
+        }
 
-        List<AuditLog> recentLogs = auditLogs.findRecentByOrgId(orgId, 10);
-        List<Dtos.RecentActivityRes> recentActivities = recentLogs.stream()
-            .map(log -> {
-                String userEmail = null;
-                if (log.userId() != null) {
-                    userEmail = users.findById(log.userId())
-                        .map(u -> u.email().value())
-                        .orElse(null);
-                }
-                return new Dtos.RecentActivityRes(
-                    log.id().toString(),
-                    log.userId() != null ? log.userId().toString() : null,
-                    userEmail,
-                    log.action().name(),
-                    log.description(),
-                    log.createdAt().toString()
-                );
-            })
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_FEED_LIMIT));
+        return auditLogs.findActivityFeed(orgId, actions, from, to, boundedLimit).stream()
+            .map(this::toRecentActivityRes)
             .collect(Collectors.toList());
+    }
 
-        return new Dtos.ActivityStats(totalActions, todayActions, thisWeekActions, recentActivities);
+    private Dtos.RecentActivityRes toRecentActivityRes(AuditActivityEntry e) {
+        return new Dtos.RecentActivityRes(
+            e.id().toString(),
+            e.userId() != null ? e.userId().toString() : null,
+            e.userEmail(),
+            e.userDisplayName(),
+            e.action().name(),
+            e.description(),
+            e.createdAt().toString()
+        );
     }
 }
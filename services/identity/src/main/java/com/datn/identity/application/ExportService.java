@@ -0,0 +1,164 @@
+package com.datn.identity.application;
+
+import com.datn.identity.domain.audit.AuditAction;
+import com.datn.identity.domain.export.ExportDataset;
+import com.datn.identity.domain.export.ExportRepository;
+import com.datn.identity.domain.export.RawJson;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streams organization exports (members, pending invitations, audit logs) straight to
+ * an OutputStream. Rows come from a database cursor and are written as they arrive, so
+ * memory use does not depend on the size of the export.
+ *
+ * ZIP wraps CSV files; with no dataset it bundles all three.
+ */
+@Service
+public class ExportService {
+    public enum Format { CSV, NDJSON, ZIP }
+
+    private final ExportRepository exports;
+    private final AuditLogService auditLogs;
+    private final ObjectMapper mapper;
+
+    public ExportService(ExportRepository exports, AuditLogService auditLogs, ObjectMapper mapper) {
+        this.exports = exports;
+        this.auditLogs = auditLogs;
+        this.mapper = mapper;
+    }
+
+    /**
+     * @param dataset dataset to export; null exports all datasets (ZIP only)
+     */
+    public void export(UUID actorUserId, UUID orgId, ExportDataset dataset, Format format,
+                       Instant from, Instant to, OutputStream out) throws IOException {
+        if (dataset == null && format != Format.ZIP) {
+            throw new IllegalArgumentException("dataset_required");
+        }
+
+        List<ExportDataset> datasets = dataset != null ? List.of(dataset) : List.of(ExportDataset.values());
+        switch (format) {
+            case CSV -> writeCsv(dataset, orgId, from, to, out);
+            case NDJSON -> writeNdjson(dataset, orgId, from, to, out);
+            case ZIP -> {
+                var zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+                for (ExportDataset d : datasets) {
+                    zip.putNextEntry(new ZipEntry(d.fileName() + ".csv"));
+                    writeCsv(d, orgId, from, to, nonClosing(zip));
+                    zip.closeEntry();
+                }
+                zip.finish();
+            }
+        }
+        out.flush();
+
+        auditLogs.log(orgId, actorUserId, AuditAction.REPORT_EXPORTED,
+            "Exported " + datasets.stream().map(ExportDataset::fileName).toList() + " as " + format.name().toLowerCase(Locale.ROOT),
+            Map.of("datasets", datasets.stream().map(Enum::name).toList(), "format", format.name()));
+    }
+
+    public static String fileName(ExportDataset dataset, Format format) {
+        String base = dataset != null ? dataset.fileName() : "export";
+        return switch (format) {
+            case CSV -> base + ".csv";
+            case NDJSON -> base + ".ndjson";
+            case ZIP -> base + ".zip";
+        };
+    }
+
+    private void writeCsv(ExportDataset dataset, UUID orgId, Instant from, Instant to, OutputStream out) throws IOException {
+        Writer w = new BufferedWriter(new OutputStreamWriter(nonClosing(out), StandardCharsets.UTF_8));
+        writeCsvLine(w, new ArrayList<>(exports.columns(dataset)));
+        exports.stream(dataset, orgId, from, to, values -> writeCsvLine(w, Arrays.asList(values)));
+        w.flush();
+    }
+
+    private void writeNdjson(ExportDataset dataset, UUID orgId, Instant from, Instant to, OutputStream out) throws IOException {
+        List<String> columns = exports.columns(dataset);
+        try (JsonGenerator gen = mapper.getFactory().createGenerator(nonClosing(out))) {
+            exports.stream(dataset, orgId, from, to, values -> {
+                gen.writeStartObject();
+                for (int i = 0; i < columns.size(); i++) {
+                    gen.writeFieldName(columns.get(i));
+                    writeJsonValue(gen, values[i]);
+                }
+                gen.writeEndObject();
+                gen.writeRaw('\n');
+            });
+        }
+    }
+
+    private void writeJsonValue(JsonGenerator gen, Object value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else if (value instanceof RawJson raw) {
+            gen.writeRawValue(raw.json());
+        } else if (value instanceof Boolean b) {
+            gen.writeBoolean(b);
+        } else if (value instanceof List<?> list) {
+            gen.writeStartArray();
+            for (Object item : list) gen.writeString(String.valueOf(item));
+            gen.writeEndArray();
+        } else {
+            gen.writeString(value.toString());
+        }
+    }
+
+    private static void writeCsvLine(Writer w, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) w.write(',');
+            w.write(csvCell(values.get(i)));
+        }
+        w.write("\r\n");
+    }
+
+    private static String csvCell(Object value) {
+        if (value == null) return "";
+        String s;
+        if (value instanceof RawJson raw) {
+            s = raw.json();
+        } else if (value instanceof List<?> list) {
+            s = String.join(";", list.stream().map(String::valueOf).toList());
+        } else {
+            s = value.toString();
+        }
+        if (s.indexOf(',') >= 0 || s.indexOf('"') >= 0 || s.indexOf('\n') >= 0 || s.indexOf('\r') >= 0) {
+            return '"' + s.replace("\"", "\"\"") + '"';
+        }
+        return s;
+    }
+
+    /** Keeps writers/generators from closing the response (or zip) stream underneath us. */
+    private static OutputStream nonClosing(OutputStream out) {
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+}
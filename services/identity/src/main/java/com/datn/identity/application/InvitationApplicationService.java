@@ -3,9 +3,9 @@ package com.datn.identity.application;
 import com.datn.identity.common.Email;
 import com.datn.identity.domain.audit.AuditAction;
 import com.datn.identity.domain.audit.AuditLog;
-import com.datn.identity.domain.audit.AuditLogRepository;
 import com.datn.identity.domain.events.IdentityEvents;
 import com.datn.identity.domain.invite.Invitation;
+import com.datn.identity.domain.invite.InvitationBulkRepository;
 import com.datn.identity.domain.invite.InvitationRepository;
 import com.datn.identity.domain.org.MemberType;
 import com.datn.identity.domain.org.Membership;
@@ -17,39 +17,45 @@ import com.datn.identity.domain.user.PasswordHasher;
 import com.datn.identity.domain.user.PasswordPolicy;
 import com.datn.identity.domain.user.User;
 import com.datn.identity.domain.user.UserRepository;
+import com.datn.identity.infrastructure.audit.AsyncAuditWriter;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 public class InvitationApplicationService {
     private final InvitationRepository invites;
+    private final InvitationBulkRepository bulkInvites;
     private final MembershipRepository memberships;
     private final OrganizationRepository orgs;
     private final UserRepository users;
     private final PasswordHasher hasher;
     private final PasswordPolicy pwdPolicy;
     private final OutboxRepository outbox;
-    private final AuditLogRepository auditLogs;
+    private final AsyncAuditWriter auditWriter;
     private final ObjectMapper mapper;
 
     public InvitationApplicationService(InvitationRepository invites,
+                                        InvitationBulkRepository bulkInvites,
                                         MembershipRepository memberships,
                                         OrganizationRepository orgs,
                                         UserRepository users,
                                         PasswordHasher hasher,
                                         PasswordPolicy pwdPolicy,
                                         OutboxRepository outbox,
-                                        AuditLogRepository auditLogs,
+                                        AsyncAuditWriter auditWriter,
                                         ObjectMapper mapper) {
-        this.invites = invites; this.memberships = memberships; this.orgs = orgs;
+        this.invites = invites; this.bulkInvites = bulkInvites; this.memberships = memberships; this.orgs = orgs;
         this.users = users; this.hasher = hasher; this.pwdPolicy = pwdPolicy;
-        this.outbox = outbox; this.auditLogs = auditLogs; this.mapper = mapper;
+        this.outbox = outbox; this.auditWriter = auditWriter; this.mapper = mapper;
     }
 
     @Transactional
@@ -67,7 +73,7 @@ public class InvitationApplicationService {
         outbox.append(OutboxMessage.create(evt.topic(), toJson(evt)));
 
         // Audit log
-        auditLogs.save(AuditLog.create(orgId, actorUserId, AuditAction.MEMBER_INVITED,
+        auditWriter.submitAfterCommit(AuditLog.create(orgId, actorUserId, AuditAction.MEMBER_INVITED,
             "Invitation sent to " + email,
             Map.of("email", email, "memberType", type.name(), "role", role)));
 
@@ -99,6 +105,41 @@ public class InvitationApplicationService {
         return inv.token();
     }
 
+    /**
+     * Writes one chunk of a bulk import in a single transaction: skips existing members,
+     * inserts the rest (open-invitation conflicts are skipped), then batch-appends one
+     * outbox event and one audit entry per inserted invitation.
+     * Candidates must already be validated, normalized and de-duplicated.
+     */
+    @Transactional
+    public ImportChunkResult importChunk(UUID actorUserId, UUID orgId, List<Invitation> candidates) {
+        var memberEmails = bulkInvites.findMemberEmails(orgId, candidates.stream().map(Invitation::email).toList());
+        var toInsert = candidates.stream()
+                .filter(inv -> !memberEmails.contains(inv.email()))
+                .toList();
+
+        var inserted = bulkInvites.insertOpenSkippingExisting(toInsert);
+
+        List<OutboxMessage> events = new ArrayList<>(inserted.size());
+        List<AuditLog> audits = new ArrayList<>(inserted.size());
+        for (var inv : inserted) {
+            var evt = new IdentityEvents.InvitationCreated(orgId, inv.email(), inv.memberType().name(), inv.role(), inv.token());
+            events.add(OutboxMessage.create(evt.topic(), toJson(evt)));
+            audits.add(AuditLog.create(orgId, actorUserId, AuditAction.MEMBER_INVITED,
+                "Invitation sent to " + inv.email(),
+                Map.of("email", inv.email(), "memberType", inv.memberType().name(), "role", inv.role(), "source", "import")));
+        }
+        outbox.appendAll(events);
+        audits.forEach(auditWriter::submitAfterCommit);
+
+        return new ImportChunkResult(
+            memberEmails,
+            inserted.stream().map(Invitation::email).collect(Collectors.toSet())
+        );
+    }
+
+    public record ImportChunkResult(Set<String> alreadyMembers, Set<String> invited) {}
+
     @Transactional
     public AcceptResult accept(String token, String rawPasswordIfNew) {
         var inv = invites.findByToken(token)
@@ -138,10 +179,10 @@ public class InvitationApplicationService {
         outbox.append(OutboxMessage.create(evt.topic(), toJson(evt)));
 
         // Audit log
-        auditLogs.save(AuditLog.create(orgId, user.id(), AuditAction.INVITATION_ACCEPTED,
+        auditWriter.submitAfterCommit(AuditLog.create(orgId, user.id(), AuditAction.INVITATION_ACCEPTED,
             "Invitation accepted by " + email,
             Map.of("email", email)));
-        auditLogs.save(AuditLog.create(orgId, user.id(), AuditAction.MEMBER_JOINED,
+        auditWriter.submitAfterCommit(AuditLog.create(orgId, user.id(), AuditAction.MEMBER_JOINED,
             "Member joined: " + email,
             Map.of("email", email, "memberType", inv.memberType().name())));
 
@@ -183,7 +224,7 @@ public class InvitationApplicationService {
         invites.deleteById(invitationId);
 
         // Audit log
-        auditLogs.save(AuditLog.create(orgId, actorUserId, AuditAction.INVITATION_CANCELLED,
+        auditWriter.submitAfterCommit(AuditLog.create(orgId, actorUserId, AuditAction.INVITATION_CANCELLED,
             "Invitation cancelled for " + inv.email(),
             Map.of("email", inv.email(), "invitationId", invitationId.toString())));
     }
@@ -0,0 +1,223 @@
+package com.datn.identity.application;
+
+import com.datn.identity.common.Email;
+import com.datn.identity.domain.invite.Invitation;
+import com.datn.identity.domain.org.MemberType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Streaming bulk invitation import (CSV or NDJSON).
+ *
+ * Rows are read line by line and written in fixed-size chunks, each chunk in its own
+ * transaction, so memory stays bounded by the chunk size regardless of file size.
+ * Per-row results are pushed to the caller's {@link RowSink} as soon as a chunk commits.
+ *
+ * CSV: optional header row with columns email, memberType (or member_type), role;
+ * without a header the columns are positional in that order.
+ * NDJSON: one {"email": ..., "memberType": ..., "role": ...} object per line.
+ */
+@Service
+public class InvitationImportService {
+    public enum Format { CSV, NDJSON }
+
+    public record RowResult(long row, String email, String status, String error) {}
+
+    public record Summary(long total, long invited, long alreadyInvited, long alreadyMember, long duplicate, long invalid) {}
+
+    public interface RowSink {
+        void accept(RowResult result) throws IOException;
+
+        /** Called after each chunk commits; lets the caller flush the response. */
+        default void chunkDone() throws IOException {}
+    }
+
+    private final InvitationApplicationService invitations;
+    private final ObjectMapper mapper;
+    private final int chunkSize;
+
+    public InvitationImportService(InvitationApplicationService invitations,
+                                   ObjectMapper mapper,
+                                   @Value("${app.invitations.import-chunk-size:500}") int chunkSize) {
+        this.invitations = invitations;
+        this.mapper = mapper;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    public Summary importInvitations(UUID actorUserId, UUID orgId, BufferedReader reader, Format format, RowSink sink)
+            throws IOException {
+        var counters = new long[6]; // total, invited, alreadyInvited, alreadyMember, duplicate, invalid
+        List<Candidate> chunk = new ArrayList<>(chunkSize);
+        Set<String> chunkEmails = new HashSet<>();
+        Map<String, Integer> columns = null;
+
+        long row = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) continue;
+
+            if (format == Format.CSV && row == 0 && columns == null) {
+                var header = parseHeader(line);
+                columns = header != null ? header : Map.of("email", 0, "membertype", 1, "role", 2);
+                if (header != null) continue;
+            }
+
+            row++;
+            counters[0]++;
+
+            Candidate candidate;
+            try {
+                candidate = format == Format.CSV ? fromCsv(orgId, row, line, columns) : fromJson(orgId, row, line);
+            } catch (IllegalArgumentException e) {
+                counters[5]++;
+                sink.accept(new RowResult(row, null, "invalid", e.getMessage()));
+                continue;
+            }
+
+            if (!chunkEmails.add(candidate.invitation().email())) {
+                counters[4]++;
+                sink.accept(new RowResult(row, candidate.invitation().email(), "duplicate", null));
+                continue;
+            }
+            chunk.add(candidate);
+
+            if (chunk.size() >= chunkSize) {
+                flush(actorUserId, orgId, chunk, sink, counters);
+                chunk.clear();
+                chunkEmails.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            flush(actorUserId, orgId, chunk, sink, counters);
+        }
+
+        return new Summary(counters[0], counters[1], counters[2], counters[3], counters[4], counters[5]);
+    }
+
+    private void flush(UUID actorUserId, UUID orgId, List<Candidate> chunk, RowSink sink, long[] counters)
+            throws IOException {
+        var result = invitations.importChunk(actorUserId, orgId, chunk.stream().map(Candidate::invitation).toList());
+
+        for (var c : chunk) {
+            String email = c.invitation().email();
+            String status;
+            if (result.alreadyMembers().contains(email)) {
+                status = "already_member";
+                counters[3]++;
+            } else if (result.invited().contains(email)) {
+                status = "invited";
+                counters[1]++;
+            } else {
+                status = "already_invited";
+                counters[2]++;
+            }
+            sink.accept(new RowResult(c.row(), email, status, null));
+        }
+        sink.chunkDone();
+    }
+
+    private record Candidate(long row, Invitation invitation) {}
+
+    private Candidate fromCsv(UUID orgId, long row, String line, Map<String, Integer> columns) {
+        var cells = splitCsv(line);
+        return candidate(orgId, row,
+            cell(cells, columns.get("email")),
+            cell(cells, columns.get("membertype")),
+            cell(cells, columns.get("role")));
+    }
+
+    private Candidate fromJson(UUID orgId, long row, String line) {
+        JsonNode node;
+        try {
+            node = mapper.readTree(line);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("malformed_json");
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("malformed_json");
+        }
+        return candidate(orgId, row, text(node, "email"), text(node, "memberType"), text(node, "role"));
+    }
+
+    private static Candidate candidate(UUID orgId, long row, String emailRaw, String memberTypeRaw, String roleRaw) {
+        var email = Email.of(emailRaw).value();
+
+        MemberType memberType = MemberType.STAFF;
+        if (memberTypeRaw != null && !memberTypeRaw.isBlank()) {
+            try {
+                memberType = MemberType.valueOf(memberTypeRaw.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("invalid_member_type");
+            }
+        }
+
+        String role = roleRaw == null || roleRaw.isBlank() ? "MEMBER" : roleRaw.trim().toUpperCase(Locale.ROOT);
+        if (!role.equals("ADMIN") && !role.equals("MEMBER")) {
+            throw new IllegalArgumentException("invalid_role");
+        }
+
+        return new Candidate(row, Invitation.create(orgId, email, memberType, role));
+    }
+
+    private static String text(JsonNode node, String field) {
+        var v = node.get(field);
+        return v == null || v.isNull() ? null : v.asText();
+    }
+
+    private static String cell(List<String> cells, Integer index) {
+        return index == null || index >= cells.size() ? null : cells.get(index);
+    }
+
+    /** Returns column positions if the line is a header (contains an "email" cell), else null. */
+    private static Map<String, Integer> parseHeader(String line) {
+        var cells = splitCsv(line);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < cells.size(); i++) {
+            var name = cells.get(i).trim().toLowerCase(Locale.ROOT).replace("_", "");
+            columns.putIfAbsent(name, i);
+        }
+        return columns.containsKey("email") ? columns : null;
+    }
+
+    /** Minimal RFC 4180 field splitter for a single line (quoted fields, "" escapes). */
+    private static List<String> splitCsv(String line) {
+        List<String> cells = new ArrayList<>();
+        var current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (quoted) {
+                if (ch == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (ch == '"') {
+                    quoted = false;
+                } else {
+                    current.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                cells.add(current.toString().trim());
+                current.setLength(0);
+            } else {
+                current.append(ch);
+            }
+        }
+        cells.add(current.toString().trim());
+        return cells;
+    }
+}
@@ -3,13 +3,15 @@ package com.datn.identity.application;
 import com.datn.identity.common.Slug;
 import com.datn.identity.domain.audit.AuditAction;
 import com.datn.identity.domain.audit.AuditLog;
-import com.datn.identity.domain.audit.AuditLogRepository;
 import com.datn.identity.domain.events.IdentityEvents;
 import com.datn.identity.domain.org.*;
 import com.datn.identity.domain.outbox.OutboxMessage;
 import com.datn.identity.domain.outbox.OutboxRepository;
 import com.datn.identity.domain.user.PasswordHasher;
 import com.datn.identity.domain.user.UserRepository;
+import com.datn.identity.infrastructure.audit.AsyncAuditWriter;
+import com.datn.identity.infrastructure.persistence.IdentityLookupFilter;
+import com.datn.identity.infrastructure.persistence.LockedOrgRegistry;
 import com.datn.identity.infrastructure.web.FileStorageClient;
 import com.datn.identity.interfaces.api.dto.Dtos;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -20,8 +22,12 @@ import org.springframework.stereotype.Service;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -32,30 +38,38 @@ import java.util.stream.Collectors;
 public class OrganizationApplicationService {
     private final OrganizationRepository orgs;
     private final MembershipRepository memberships;
+    private final MembershipBulkRepository bulkMemberships;
     private final UserRepository users;
     private final OutboxRepository outbox;
-    private final AuditLogRepository auditLogs;
+    private final AsyncAuditWriter auditWriter;
     private final PasswordHasher hasher;
     private final ObjectMapper mapper;
     private final FileStorageClient fileStorageClient;
+    private final IdentityLookupFilter lookupFilter;
+    private final LockedOrgRegistry lockedOrgs;
 
     public OrganizationApplicationService(OrganizationRepository orgs,
                                           MembershipRepository memberships,
+                                          MembershipBulkRepository bulkMemberships,
                                           UserRepository users,
                                           OutboxRepository outbox,
-                                          AuditLogRepository auditLogs,
+                                          AsyncAuditWriter auditWriter,
                                           PasswordHasher hasher,
                                           ObjectMapper mapper,
-                                          FileStorageClient fileStorageClient) {
-        this.orgs = orgs; this.memberships = memberships; this.users = users;
-        this.outbox = outbox; this.auditLogs = auditLogs; this.hasher = hasher; this.mapper = mapper;
+                                          FileStorageClient fileStorageClient,
+                                          IdentityLookupFilter lookupFilter,
+                                          LockedOrgRegistry lockedOrgs) {
+        this.orgs = orgs; this.memberships = memberships; this.bulkMemberships = bulkMemberships; this.users = users;
+        this.outbox = outbox; this.auditWriter = auditWriter; this.hasher = hasher; this.mapper = mapper;
         this.fileStorageClient = fileStorageClient;
+        this.lookupFilter = lookupFilter;
+        this.lockedOrgs = lockedOrgs;
     }
 
     @Transactional
     public UUID createOrg(UUID ownerUserId, String slugRaw, String displayName) {
         var slug = Slug.of(slugRaw != null ? slugRaw : displayName);
-        if (orgs.existsBySlug(slug.value())) throw new IllegalStateException("slug_exists");
+        if (slugExists(slug.value())) throw new IllegalStateException("slug_exists");
 
         var org = Organization.create(slug, displayName);
         orgs.save(org);
@@ -68,14 +82,15 @@ public class OrganizationApplicationService {
         outbox.append(OutboxMessage.create(evt2.topic(), toJson(evt2)));
 
         // Audit log
-        auditLogs.save(AuditLog.create(org.id(), ownerUserId, AuditAction.ORG_CREATED,
+        auditWriter.submitAfterCommit(AuditLog.create(org.id(), ownerUserId, AuditAction.ORG_CREATED,
             "Organization created: " + displayName,
             Map.of("slug", slug.value(), "displayName", displayName)));
 
         return org.id();
     }
 
-    @Transactional
+    // Spring's annotation: jakarta.transaction.Transactional has no read-only flag (replica routing)
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
     public Dtos.PagedResponse<Dtos.MemberInfo> listMembers(UUID orgId, int page, int size) {
         long total = memberships.countByOrg(orgId);
         int totalPages = (int) Math.ceil((double) total / size);
@@ -142,7 +157,7 @@ public class OrganizationApplicationService {
         outbox.append(OutboxMessage.create(evt.topic(), toJson(evt)));
 
         // Audit log
-        auditLogs.save(AuditLog.create(orgId, actorUserId, AuditAction.MEMBER_ROLE_CHANGED,
+        auditWriter.submitAfterCommit(AuditLog.create(orgId, actorUserId, AuditAction.MEMBER_ROLE_CHANGED,
             "Member roles updated for user " + targetUserId,
             Map.of("targetUserId", targetUserId.toString(), "oldRoles", oldRoles, "newRoles", roles)));
     }
@@ -156,11 +171,114 @@ public class OrganizationApplicationService {
         outbox.append(OutboxMessage.create(evt.topic(), toJson(evt)));
 
         // Audit log
-        auditLogs.save(AuditLog.create(orgId, actorUserId, AuditAction.MEMBER_REMOVED,
+        auditWriter.submitAfterCommit(AuditLog.create(orgId, actorUserId, AuditAction.MEMBER_REMOVED,
             "Member removed: " + targetUserId,
             Map.of("targetUserId", targetUserId.toString())));
     }
 
+    private static final int MAX_BULK_MEMBERS = 1000;
+
+    /**
+     * Bulk member operation (SET_ROLE, SET_MEMBER_TYPE, REMOVE) applied with one
+     * set-based statement. The last-owner guard is evaluated once against the locked
+     * owner set; one outbox event and one audit summary are written per batch.
+     * Users that are not members, or already in the requested state, are reported as skipped.
+     */
+    @Transactional
+    public Dtos.BulkMembersRes bulkUpdateMembers(UUID actorUserId, UUID orgId, Dtos.BulkMembersReq req) {
+        if (req.userIds() == null || req.userIds().isEmpty()) {
+            throw new IllegalArgumentException("user_ids_required");
+        }
+        var targets = req.userIds().stream()
+                .map(String::trim)
+                .map(UUID::fromString)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (targets.size() > MAX_BULK_MEMBERS) {
+            throw new IllegalArgumentException("too_many_user_ids");
+        }
+
+        String operation = req.operation() == null ? "" : req.operation().trim().toUpperCase(Locale.ROOT);
+        if (!operation.equals("SET_ROLE") && !operation.equals("SET_MEMBER_TYPE") && !operation.equals("REMOVE")) {
+            throw new IllegalArgumentException("invalid_operation");
+        }
+
+        // Owners are only affected by SET_ROLE / REMOVE; the guard runs once for the whole batch
+        if (!operation.equals("SET_MEMBER_TYPE")) {
+            var owners = bulkMemberships.lockOwners(orgId);
+            long targetedOwners = owners.stream().filter(targets::contains).count();
+            if (targetedOwners > 0) {
+                if (!owners.contains(actorUserId)) {
+                    throw new SecurityException("forbidden");
+                }
+                if (owners.size() - targetedOwners < 1) {
+                    throw new IllegalStateException("last_owner_cannot_be_removed");
+                }
+            }
+        }
+
+        List<UUID> affected;
+        Set<String> roles = null;
+        MemberType memberType = null;
+        AuditAction auditAction;
+        String eventOperation;
+        Map<String, Object> auditMeta = new HashMap<>();
+        switch (operation) {
+            case "SET_ROLE" -> {
+                String role = req.role() == null ? "" : req.role().trim().toUpperCase(Locale.ROOT);
+                if (!role.equals("ADMIN") && !role.equals("MEMBER")) {
+                    throw new IllegalArgumentException("invalid_role");
+                }
+                roles = Set.of(role);
+                affected = bulkMemberships.updateRoles(orgId, targets, roles);
+                auditAction = AuditAction.MEMBER_ROLE_CHANGED;
+                eventOperation = "ROLES_UPDATED";
+                auditMeta.put("newRoles", roles);
+            }
+            case "SET_MEMBER_TYPE" -> {
+                try {
+                    memberType = MemberType.valueOf(req.memberType() == null ? "" : req.memberType().trim().toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("invalid_member_type");
+                }
+                affected = bulkMemberships.updateMemberType(orgId, targets, memberType);
+                auditAction = AuditAction.MEMBER_TYPE_CHANGED;
+                eventOperation = "MEMBER_TYPE_UPDATED";
+                auditMeta.put("memberType", memberType.name());
+            }
+            default -> {
+                affected = bulkMemberships.delete(orgId, targets);
+                auditAction = AuditAction.MEMBER_REMOVED;
+                eventOperation = "REMOVED";
+            }
+        }
+
+        if (!affected.isEmpty()) {
+            var evt = new IdentityEvents.MembershipsBulkChanged(orgId, eventOperation, affected, roles,
+                    memberType != null ? memberType.name() : null);
+            outbox.append(OutboxMessage.create(evt.topic(), toJson(evt)));
+
+            auditMeta.put("bulk", true);
+            auditMeta.put("count", affected.size());
+            auditMeta.put("targetUserIds", affected.stream().map(UUID::toString).toList());
+            auditWriter.submitAfterCommit(AuditLog.create(orgId, actorUserId, auditAction,
+                "Bulk " + operation.toLowerCase(Locale.ROOT) + " applied to " + affected.size() + " member(s)",
+                auditMeta));
+        }
+
+        var affectedSet = Set.copyOf(affected);
+        List<String> skipped = new ArrayList<>();
+        for (UUID id : targets) {
+            if (!affectedSet.contains(id)) skipped.add(id.toString());
+        }
+        return new Dtos.BulkMembersRes(
+                operation,
+                targets.size(),
+                affected.size(),
+                affected.stream().map(UUID::toString).toList(),
+                skipped
+        );
+    }
+
     /**
      * Remove member (internal use - no actor user required)
      */
@@ -197,11 +315,27 @@ public class OrganizationApplicationService {
         outbox.append(OutboxMessage.create(evt.topic(), toJson(evt)));
     }
 
+    /**
+     * Slug existence check that skips the query when the lookup filter rules the slug out.
+     */
+    public boolean slugExists(String slug) {
+        return lookupFilter.mightHaveSlug(slug) && orgs.existsBySlug(slug);
+    }
+
     @Transactional
     public Optional<Organization> findBySlug(String slug) {
         return orgs.findBySlug(slug);
     }
 
+    /**
+     * Cached slug resolution. Deliberately not short-circuited by the lookup filter: another
+     * instance's filter learns a new slug only at its next rebuild, and nothing would catch
+     * that false "not found". Unknown slugs are negative-cached instead.
+     */
+    public Optional<OrgSlugRef> resolveSlug(String slug) {
+        return orgs.resolveSlug(slug);
+    }
+
     public boolean isMember(UUID userId, UUID orgId) {
         return memberships.find(userId, orgId).isPresent();
     }
@@ -236,6 +370,9 @@ public class OrganizationApplicationService {
         var org = orgs.findById(orgId).orElseThrow(() -> new IllegalStateException("org_not_found"));
         var updatedOrg = org.withLogoAssetId(logoAssetId);
         orgs.save(updatedOrg);
+
+        var evt = new IdentityEvents.OrganizationUpdated(orgId);
+        outbox.append(OutboxMessage.create(evt.topic(), toJson(evt)));
     }
 
     /**
@@ -247,6 +384,13 @@ public class OrganizationApplicationService {
         return toOrgDetailRes(org);
     }
 
+    /**
+     * Row version of the organization (ETag source), without loading it.
+     */
+    public Optional<Long> orgVersion(UUID orgId) {
+        return orgs.findVersion(orgId);
+    }
+
     /**
      * Update organization info (UC07).
      */
@@ -266,7 +410,7 @@ public class OrganizationApplicationService {
         outbox.append(OutboxMessage.create(evt.topic(), toJson(evt)));
 
         // Audit log
-        auditLogs.save(AuditLog.create(orgId, null, AuditAction.ORG_UPDATED,
+        auditWriter.submitAfterCommit(AuditLog.create(orgId, null, AuditAction.ORG_UPDATED,
             "Organization updated",
             Map.of("displayName", updated.displayName())));
 
@@ -320,7 +464,7 @@ public class OrganizationApplicationService {
         outbox.append(OutboxMessage.create(evt.topic(), toJson(evt)));
 
         // Audit log
-        auditLogs.save(AuditLog.create(orgId, null, AuditAction.ORG_SETTINGS_UPDATED,
+        auditWriter.submitAfterCommit(AuditLog.create(orgId, null, AuditAction.ORG_SETTINGS_UPDATED,
             "Organization settings updated", Map.of()));
 
         return toOrgSettingsRes(newSettings);
@@ -343,8 +487,11 @@ public class OrganizationApplicationService {
         var locked = org.lock(adminId, reason);
         orgs.save(locked);
 
+        var evt = new IdentityEvents.OrganizationLocked(orgId, reason);
+        outbox.append(OutboxMessage.create(evt.topic(), toJson(evt)));
+
         // Audit log
-        auditLogs.save(AuditLog.create(orgId, adminId, AuditAction.ORG_LOCKED,
+        auditWriter.submitAfterCommit(AuditLog.create(orgId, adminId, AuditAction.ORG_LOCKED,
             "Organization locked: " + reason,
             Map.of("reason", reason)));
 
@@ -366,8 +513,11 @@ public class OrganizationApplicationService {
         var unlocked = org.unlock();
         orgs.save(unlocked);
 
+        var evt = new IdentityEvents.OrganizationUnlocked(orgId);
+        outbox.append(OutboxMessage.create(evt.topic(), toJson(evt)));
+
         // Audit log
-        auditLogs.save(AuditLog.create(orgId, adminId, AuditAction.ORG_UNLOCKED,
+        auditWriter.submitAfterCommit(AuditLog.create(orgId, adminId, AuditAction.ORG_UNLOCKED,
             "Organization unlocked", Map.of()));
 
         return toOrgStatusRes(unlocked);
@@ -383,12 +533,10 @@ public class OrganizationApplicationService {
     }
 
     /**
-     * Check if organization is locked.
+     * Check if organization is locked (in-memory, see LockedOrgRegistry).
      */
     public boolean isOrgLocked(UUID orgId) {
-        return orgs.findById(orgId)
-            .map(Organization::isLocked)
-            .orElse(false);
+        return lockedOrgs.isLocked(orgId);
     }
 
     // ==================== UC12 - Transfer Ownership ====================
@@ -446,7 +594,7 @@ public class OrganizationApplicationService {
         outbox.append(OutboxMessage.create(evt2.topic(), toJson(evt2)));
 
         // 8. Audit log
-        auditLogs.save(AuditLog.create(orgId, currentOwnerId, AuditAction.ORG_OWNERSHIP_TRANSFERRED,
+        auditWriter.submitAfterCommit(AuditLog.create(orgId, currentOwnerId, AuditAction.ORG_OWNERSHIP_TRANSFERRED,
             "Ownership transferred from " + currentOwnerId + " to " + newOwnerId,
             Map.of("previousOwnerId", currentOwnerId.toString(), "newOwnerId", newOwnerId.toString())));
 
@@ -467,6 +615,15 @@ public class OrganizationApplicationService {
             .orElse(false);
     }
 
+    /**
+     * Check if user can manage members (OWNER or ADMIN) of organization.
+     */
+    public boolean isOwnerOrAdmin(UUID userId, UUID orgId) {
+        return memberships.find(userId, orgId)
+            .map(m -> m.roles().contains("OWNER") || m.roles().contains("ADMIN"))
+            .orElse(false);
+    }
+
     private Dtos.OrgStatusRes toOrgStatusRes(Organization org) {
         return new Dtos.OrgStatusRes(
             org.id().toString(),
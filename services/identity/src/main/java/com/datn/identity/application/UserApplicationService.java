@@ -5,6 +5,7 @@ import com.datn.identity.domain.events.IdentityEvents;
 import com.datn.identity.domain.outbox.OutboxMessage;
 import com.datn.identity.domain.outbox.OutboxRepository;
 import com.datn.identity.domain.user.*;
+import com.datn.identity.infrastructure.persistence.IdentityLookupFilter;
 import com.datn.identity.infrastructure.util.Jsons;
 import com.datn.identity.infrastructure.web.FileStorageClient;
 import com.datn.identity.interfaces.api.dto.Dtos.ProfileRes;
@@ -13,10 +14,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
 public class UserApplicationService {
+    private static final int AVATAR_URL_TTL_SECONDS = 3600;
+
     private final UserRepository users;
     private final ExternalIdentityRepository externals;
     private final PasswordHasher hasher;
@@ -24,23 +29,29 @@ public class UserApplicationService {
     private final OutboxRepository outbox;
     private final EmailVerificationService emailVerificationService;
     private final FileStorageClient fileStorageClient;
+    private final IdentityLookupFilter lookupFilter;
 
     public UserApplicationService(UserRepository users, PasswordHasher hasher,
                                   PasswordPolicy passwordPolicy, OutboxRepository outbox,
                                   ObjectMapper mapper, ExternalIdentityRepository externals,
                                   EmailVerificationService emailVerificationService,
-                                  FileStorageClient fileStorageClient) {
+                                  FileStorageClient fileStorageClient,
+                                  IdentityLookupFilter lookupFilter) {
         this.users = users; this.hasher = hasher;
         this.passwordPolicy = passwordPolicy; this.outbox = outbox;
         this.externals = externals;
         this.emailVerificationService = emailVerificationService;
         this.fileStorageClient = fileStorageClient;
+        this.lookupFilter = lookupFilter;
     }
 
     @Transactional
     public UUID register(String emailRaw, String rawPassword) {
         var emailCI = Email.of(emailRaw).value();
-        if (users.existsByEmail(emailCI)) throw new IllegalStateException("email_exists");
+        // A filter miss is definite; a stale miss from another instance is still caught by the UNIQUE index
+        if (lookupFilter.mightHaveEmail(emailCI) && users.existsByEmail(emailCI)) {
+            throw new IllegalStateException("email_exists");
+        }
 
         passwordPolicy.validate(rawPassword);
         var pepper = System.getenv().getOrDefault("PWD_PEPPER", "");
@@ -215,6 +226,16 @@ public class UserApplicationService {
         return toProfileRes(user);
     }
 
+    /**
+     * ETag source of the profile, without loading it: users.version plus the current half of
+     * the avatar URL lifetime, so a revalidating client never holds a presigned URL past
+     * half its validity.
+     */
+    public Optional<String> profileVersion(UUID userId) {
+        long window = Instant.now().getEpochSecond() / (AVATAR_URL_TTL_SECONDS / 2);
+        return users.findVersion(userId).map(v -> v + "." + window);
+    }
+
     /**
      * Update user profile (UC05).
      * Supports partial updates - only non-null fields will be updated.
@@ -250,7 +271,7 @@ public class UserApplicationService {
         if (user.avatarAssetId() != null && !user.avatarAssetId().isBlank()) {
             try {
                 var presignedResponse = fileStorageClient.getPresignedGetUrl(
-                    user.avatarAssetId(), 3600);
+                    user.avatarAssetId(), AVATAR_URL_TTL_SECONDS);
                 avatarUrl = presignedResponse.presignedUrl();
             } catch (Exception e) {
                 System.err.println("Failed to get avatar URL for user " + user.id() + ": " + e.getMessage());
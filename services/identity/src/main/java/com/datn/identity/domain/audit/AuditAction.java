@@ -1,5 +1,8 @@
 package com.datn.identity.domain.audit;
 
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * Enum defining all auditable actions in the system.
  */
@@ -29,6 +32,7 @@ public enum AuditAction {
     MEMBER_JOINED,
     MEMBER_REMOVED,
     MEMBER_ROLE_CHANGED,
+    MEMBER_TYPE_CHANGED,
     INVITATION_ACCEPTED,
     INVITATION_REJECTED,
     INVITATION_CANCELLED,
@@ -54,4 +58,14 @@ public enum AuditAction {
         if (name.startsWith("REPORT_")) return "REPORT";
         return "OTHER";
     }
+
+    /**
+     * All actions belonging to a category (see {@link #getCategory()}).
+     * Returns an empty list for unknown categories.
+     */
+    public static List<AuditAction> inCategory(String category) {
+        return Arrays.stream(values())
+            .filter(a -> a.getCategory().equals(category))
+            .toList();
+    }
 }
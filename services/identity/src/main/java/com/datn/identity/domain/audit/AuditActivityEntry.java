@@ -0,0 +1,19 @@
+package com.datn.identity.domain.audit;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Read model for the activity feed: an audit entry joined with the acting user's
+ * email and display name. userId, userEmail and userDisplayName are null for
+ * system actions or users that no longer exist.
+ */
+public record AuditActivityEntry(
+    UUID id,
+    UUID userId,
+    String userEmail,
+    String userDisplayName,
+    AuditAction action,
+    String description,
+    Instant createdAt
+) {}
@@ -0,0 +1,10 @@
+package com.datn.identity.domain.audit;
+
+/**
+ * Aggregated audit activity counts for an organization, read from daily rollups.
+ */
+public record AuditActivitySummary(
+    long total,
+    long today,
+    long thisWeek
+) {}
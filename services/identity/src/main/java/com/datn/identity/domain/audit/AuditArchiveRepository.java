@@ -0,0 +1,64 @@
+package com.datn.identity.domain.audit;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Database side of the audit cold archive: reading whole monthly partitions out,
+ * dropping them, and the segment index.
+ */
+public interface AuditArchiveRepository {
+
+    @FunctionalInterface
+    interface EntryHandler {
+        void accept(AuditLog entry) throws IOException;
+    }
+
+    /**
+     * Months (first day) that still have a live audit_logs partition, oldest first.
+     */
+    List<LocalDate> listPartitionMonths();
+
+    /**
+     * Streams every row of a month's partition ordered by org_id, created_at, holding a
+     * SHARE lock on the partition so no row can arrive while it is being archived.
+     * Must run inside a transaction.
+     */
+    void streamPartition(LocalDate month, EntryHandler handler) throws IOException;
+
+    void dropPartition(LocalDate month);
+
+    void saveSegments(List<AuditArchiveSegment> segments);
+
+    /**
+     * Records how many rows each org has in a month's partition; call before dropping it.
+     */
+    void saveOrgCounts(LocalDate month);
+
+    /**
+     * Archived row count of orgId per month (months archived with counts only).
+     */
+    Map<LocalDate, Long> findOrgCounts(UUID orgId);
+
+    /**
+     * Segments that may contain rows for orgId within [from, to] (null = unbounded),
+     * newest month first and in write order within a month.
+     */
+    List<AuditArchiveSegment> findSegments(UUID orgId, Instant from, Instant to);
+
+    /**
+     * End (exclusive) of the newest archived month, if anything is archived.
+     */
+    Optional<Instant> archivedUntil();
+
+    /**
+     * Removes index rows (org counts and rollup days too) for archived months before cutoff;
+     * returns the removed segments.
+     */
+    List<AuditArchiveSegment> deleteSegmentsBefore(LocalDate cutoff);
+}
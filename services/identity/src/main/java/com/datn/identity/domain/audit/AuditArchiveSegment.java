@@ -0,0 +1,19 @@
+package com.datn.identity.domain.audit;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * One cold-archive file of audit entries for a month, with the org / time bounds of its rows.
+ * path is relative to the archive root.
+ */
+public record AuditArchiveSegment(
+    LocalDate month,
+    String path,
+    long rowCount,
+    UUID minOrgId,
+    UUID maxOrgId,
+    Instant minCreatedAt,
+    Instant maxCreatedAt
+) {}
@@ -0,0 +1,23 @@
+package com.datn.identity.domain.audit;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Reference checks for audit entries submitted by other services. audit_logs has foreign
+ * keys on org_id and user_id, so entries pointing at unknown ids are rejected up front
+ * instead of failing the whole insert batch.
+ */
+public interface AuditIngestRepository {
+
+    /**
+     * The subset of orgIds that exist.
+     */
+    Set<UUID> findExistingOrgIds(Collection<UUID> orgIds);
+
+    /**
+     * The subset of userIds that exist.
+     */
+    Set<UUID> findExistingUserIds(Collection<UUID> userIds);
+}
@@ -1,6 +1,8 @@
 package com.datn.identity.domain.audit;
 
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -14,6 +16,11 @@ public interface AuditLogRepository {
      */
     void save(AuditLog log);
 
+    /**
+     * Saves audit log entries as one JDBC batch.
+     */
+    void saveAll(List<AuditLog> logs);
+
     /**
      * Finds audit logs by organization with pagination.
      */
@@ -25,7 +32,9 @@ public interface AuditLogRepository {
     long countByOrgId(UUID orgId);
 
     /**
-     * Finds audit logs with filters.
+     * Finds audit logs with filters. q is an optional full-text query (web search syntax)
+     * over the description and searchable metadata fields; when set, results are ordered
+     * by relevance, then newest first.
      */
     List<AuditLog> query(
         UUID orgId,
@@ -34,6 +43,7 @@ public interface AuditLogRepository {
         String category,
         Instant from,
         Instant to,
+        String q,
         int page,
         int size
     );
@@ -47,7 +57,8 @@ public interface AuditLogRepository {
         AuditAction action,
         String category,
         Instant from,
-        Instant to
+        Instant to,
+        String q
     );
 
     /**
@@ -59,4 +70,29 @@ public interface AuditLogRepository {
      * Gets recent audit logs (for dashboard).
      */
     List<AuditLog> findRecentByOrgId(UUID orgId, int limit);
+
+    /**
+     * Activity feed for an organization, newest first, with the acting user's email and
+     * display name joined in the same query. actions, from and to are optional filters
+     * (null = no filter).
+     */
+    List<AuditActivityEntry> findActivityFeed(
+        UUID orgId,
+        Collection<AuditAction> actions,
+        Instant from,
+        Instant to,
+        int limit
+    );
+
+    /**
+     * Summarizes activity from the daily rollup table (total, since today, since week start).
+     * Reads one row per active day instead of scanning audit_logs.
+     */
+    AuditActivitySummary summarizeActivity(UUID orgId, LocalDate today, LocalDate weekStart);
+
+    /**
+     * Recomputes daily rollups for closed days in [from, to] from audit_logs.
+     * Returns the number of rollup rows rewritten.
+     */
+    int reconcileActivityRollup(LocalDate from, LocalDate to);
 }
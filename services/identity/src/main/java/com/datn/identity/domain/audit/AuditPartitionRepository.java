@@ -0,0 +1,27 @@
+package com.datn.identity.domain.audit;
+
+import java.time.LocalDate;
+
+/**
+ * Maintenance of the monthly audit_logs partitions.
+ */
+public interface AuditPartitionRepository {
+
+    /**
+     * Creates missing partitions from the previous month through monthsAhead months ahead.
+     * Returns the number of partitions created.
+     */
+    int ensureFuturePartitions(int monthsAhead);
+
+    /**
+     * Adds a BRIN index on created_at to every closed month that lacks one.
+     * Returns the number of indexes created.
+     */
+    int indexClosedPartitions();
+
+    /**
+     * Drops partitions whose whole month lies before cutoff (and their rollup days).
+     * Returns the number of partitions dropped.
+     */
+    int dropPartitionsBefore(LocalDate cutoff);
+}
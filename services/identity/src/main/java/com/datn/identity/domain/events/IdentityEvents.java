@@ -3,6 +3,7 @@ package com.datn.identity.domain.events;
 import com.datn.identity.common.DomainEvent;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
@@ -37,6 +38,12 @@ public final class IdentityEvents {
         public String topic() { return "identity.membership.roles.updated"; }
     }
 
+    /** One event per bulk member operation (operation: ROLES_UPDATED, MEMBER_TYPE_UPDATED, REMOVED). */
+    public record MembershipsBulkChanged(UUID orgId, String operation, List<UUID> userIds, Set<String> roles, String memberType, Instant occurredAt) implements DomainEvent {
+        public MembershipsBulkChanged(UUID orgId, String operation, List<UUID> userIds, Set<String> roles, String memberType){ this(orgId, operation, userIds, roles, memberType, Instant.now()); }
+        @Override public String topic(){ return "identity.membership.bulk_changed"; }
+    }
+
     public record InvitationCreated(UUID orgId, String email, String memberType, String role, String token, Instant occurredAt) implements DomainEvent {
         public InvitationCreated(UUID orgId, String email, String memberType, String role, String token){ this(orgId, email, memberType, role, token, Instant.now()); }
         // Backward compatible constructor
@@ -89,6 +96,16 @@ public final class IdentityEvents {
         @Override public String topic(){ return "identity.organization.updated"; }
     }
 
+    public record OrganizationLocked(UUID orgId, String reason, Instant occurredAt) implements DomainEvent {
+        public OrganizationLocked(UUID orgId, String reason){ this(orgId, reason, Instant.now()); }
+        @Override public String topic(){ return "identity.organization.locked"; }
+    }
+
+    public record OrganizationUnlocked(UUID orgId, Instant occurredAt) implements DomainEvent {
+        public OrganizationUnlocked(UUID orgId){ this(orgId, Instant.now()); }
+        @Override public String topic(){ return "identity.organization.unlocked"; }
+    }
+
     public record OrganizationSettingsUpdated(UUID orgId, Instant occurredAt) implements DomainEvent {
         public OrganizationSettingsUpdated(UUID orgId){ this(orgId, Instant.now()); }
         @Override public String topic(){ return "identity.organization.settings_updated"; }
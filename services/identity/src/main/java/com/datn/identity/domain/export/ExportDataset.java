@@ -0,0 +1,20 @@
+package com.datn.identity.domain.export;
+
+/**
+ * Organization datasets that can be exported.
+ */
+public enum ExportDataset {
+    MEMBERS("members"),
+    INVITATIONS("invitations"),
+    AUDIT_LOGS("audit_logs");
+
+    private final String fileName;
+
+    ExportDataset(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String fileName() {
+        return fileName;
+    }
+}
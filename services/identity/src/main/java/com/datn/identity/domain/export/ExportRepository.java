@@ -0,0 +1,28 @@
+package com.datn.identity.domain.export;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Streams export rows from the database without materializing the result set.
+ */
+public interface ExportRepository {
+
+    @FunctionalInterface
+    interface RowHandler {
+        void row(Object[] values) throws IOException;
+    }
+
+    /**
+     * Column names for a dataset, in the order values are passed to {@link RowHandler#row}.
+     */
+    List<String> columns(ExportDataset dataset);
+
+    /**
+     * Streams rows for one organization in creation order. from/to only apply to AUDIT_LOGS
+     * and may be null. Values are String, Boolean, Instant, List&lt;String&gt;, RawJson or null.
+     */
+    void stream(ExportDataset dataset, UUID orgId, Instant from, Instant to, RowHandler handler) throws IOException;
+}
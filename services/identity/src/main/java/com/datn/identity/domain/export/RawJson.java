@@ -0,0 +1,6 @@
+package com.datn.identity.domain.export;
+
+/**
+ * Column value that is already serialized JSON (e.g. jsonb metadata); written verbatim by NDJSON exports.
+ */
+public record RawJson(String json) {}
@@ -0,0 +1,23 @@
+package com.datn.identity.domain.invite;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Set-based invitation writes used by bulk import.
+ */
+public interface InvitationBulkRepository {
+
+    /**
+     * Returns the subset of emails (lower-case) that already belong to members of the organization.
+     */
+    Set<String> findMemberEmails(UUID orgId, Collection<String> emails);
+
+    /**
+     * Inserts open invitations in one statement, skipping rows that collide with an
+     * existing open invitation (ux_invitations_open_unique). Returns the rows actually inserted.
+     */
+    List<Invitation> insertOpenSkippingExisting(List<Invitation> invitations);
+}
@@ -0,0 +1,25 @@
+package com.datn.identity.domain.org;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Set-based membership writes used by bulk member operations.
+ * Each method is a single statement and returns the user ids actually affected.
+ */
+public interface MembershipBulkRepository {
+
+    /**
+     * Locks and returns the owners of an organization (SELECT ... FOR UPDATE), so a
+     * last-owner check stays valid until the surrounding transaction commits.
+     */
+    Set<UUID> lockOwners(UUID orgId);
+
+    List<UUID> updateRoles(UUID orgId, Collection<UUID> userIds, Set<String> roles);
+
+    List<UUID> updateMemberType(UUID orgId, Collection<UUID> userIds, MemberType memberType);
+
+    List<UUID> delete(UUID orgId, Collection<UUID> userIds);
+}
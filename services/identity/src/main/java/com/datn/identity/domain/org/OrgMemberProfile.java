@@ -0,0 +1,15 @@
+package com.datn.identity.domain.org;
+
+import java.util.UUID;
+
+/**
+ * Compact user projection for members of an organization, used by internal
+ * batch lookups (e.g. chat room member lists).
+ */
+public record OrgMemberProfile(
+    UUID userId,
+    String email,
+    String displayName,
+    String avatarAssetId,
+    boolean disabled
+) {}
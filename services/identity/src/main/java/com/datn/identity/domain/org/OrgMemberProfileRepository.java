@@ -0,0 +1,14 @@
+package com.datn.identity.domain.org;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface OrgMemberProfileRepository {
+
+    /**
+     * Returns profiles for the given users that are members of the organization.
+     * Ids that are unknown or not members are silently skipped.
+     */
+    List<OrgMemberProfile> findMembers(UUID orgId, Collection<UUID> userIds);
+}
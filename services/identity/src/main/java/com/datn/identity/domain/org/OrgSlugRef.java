@@ -0,0 +1,15 @@
+package com.datn.identity.domain.org;
+
+import java.util.UUID;
+
+/**
+ * What a slug resolves to: just enough to route a subdomain request to its organization.
+ * version is the organization row version, usable as a validator.
+ */
+public record OrgSlugRef(
+    UUID orgId,
+    String slug,
+    String displayName,
+    OrganizationStatus status,
+    long version
+) {}
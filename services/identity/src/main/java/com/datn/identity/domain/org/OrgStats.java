@@ -0,0 +1,20 @@
+package com.datn.identity.domain.org;
+
+import java.util.UUID;
+
+/**
+ * Precomputed member counters for an organization (read model of org_stats).
+ */
+public record OrgStats(
+    UUID orgId,
+    long memberTotal,
+    long owners,
+    long admins,
+    long members,
+    long staff,
+    long partners
+) {
+    public static OrgStats empty(UUID orgId) {
+        return new OrgStats(orgId, 0, 0, 0, 0, 0, 0);
+    }
+}
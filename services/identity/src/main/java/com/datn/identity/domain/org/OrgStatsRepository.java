@@ -0,0 +1,30 @@
+package com.datn.identity.domain.org;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for incrementally maintained organization counters.
+ * Rows are kept current by database triggers on memberships.
+ */
+public interface OrgStatsRepository {
+
+    /**
+     * Finds the counters for an organization.
+     */
+    Optional<OrgStats> findByOrgId(UUID orgId);
+
+    /**
+     * Ids of organizations with counters or members, in id order, starting after the given
+     * id (null = from the start). Used to walk all organizations in batches.
+     */
+    List<UUID> findOrgIdsAfter(UUID after, int limit);
+
+    /**
+     * Recomputes the counters of the given organizations from memberships to repair drift.
+     * Returns the number of organizations whose counters were rewritten.
+     */
+    int reconcile(Collection<UUID> orgIds);
+}
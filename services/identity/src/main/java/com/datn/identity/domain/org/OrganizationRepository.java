@@ -7,5 +7,7 @@ public interface OrganizationRepository {
     boolean existsBySlug(String slugCI);
     Optional<Organization> findById(UUID id);
     Optional<Organization> findBySlug(String slugCI);
+    Optional<OrgSlugRef> resolveSlug(String slugCI);
+    Optional<Long> findVersion(UUID id);
     void save(Organization org);
 }
@@ -1,5 +1,7 @@
 package com.datn.identity.domain.org;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -12,6 +14,13 @@ public record OrganizationSettings(
     List<String> allowedFileTypes,
     FeatureFlags features
 ) {
+    public OrganizationSettings {
+        // Immutable, so one parsed instance can be shared (organization cache)
+        allowedFileTypes = allowedFileTypes != null
+            ? Collections.unmodifiableList(new ArrayList<>(allowedFileTypes))
+            : null;
+    }
+
     public static OrganizationSettings defaults() {
         return new OrganizationSettings(
             100,  // 100MB max file size
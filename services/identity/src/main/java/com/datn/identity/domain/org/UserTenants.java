@@ -0,0 +1,29 @@
+package com.datn.identity.domain.org;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read model for the tenant switcher: organizations a user belongs to plus
+ * open invitations addressed to the user's email.
+ */
+public record UserTenants(
+    List<Joined> joined,
+    List<Invited> invites
+) {
+    public record Joined(
+        UUID orgId,
+        String slug,
+        String displayName,
+        String logoAssetId,
+        List<String> roles,
+        String memberType
+    ) {}
+
+    public record Invited(
+        String token,
+        UUID orgId,
+        String orgName,
+        String memberType
+    ) {}
+}
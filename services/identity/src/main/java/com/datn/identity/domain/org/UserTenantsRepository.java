@@ -0,0 +1,15 @@
+package com.datn.identity.domain.org;
+
+import java.util.UUID;
+
+/**
+ * Read-only lookup backing /me/tenants.
+ */
+public interface UserTenantsRepository {
+
+    /**
+     * Loads memberships (with organization details) and open invitations for a user
+     * in a single round trip.
+     */
+    UserTenants findByUser(UUID userId, String email);
+}
@@ -5,6 +5,7 @@ import java.util.List;
 
 public interface OutboxRepository {
     void append(OutboxMessage msg);
+    void appendAll(List<OutboxMessage> msgs);
     List<OutboxMessage> listUnpublished(int limit);
     void markPublished(long id, Instant when);
 }
\ No newline at end of file
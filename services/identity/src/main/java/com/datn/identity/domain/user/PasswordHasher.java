@@ -3,4 +3,7 @@ package com.datn.identity.domain.user;
 public interface PasswordHasher {
     String hash(String rawPlusPepper);
     boolean matches(String rawPlusPepper, String hash);
+
+    /** True when hash was made with weaker parameters than new hashes get (upgrade on next login). */
+    default boolean needsRehash(String hash) { return false; }
 }
\ No newline at end of file
@@ -10,5 +10,6 @@ public interface UserRepository {
     Optional<User> findById(UUID id);
     Optional<User> findByEmail(String emailCI);
     List<User> findByIds(Collection<UUID> ids);
+    Optional<Long> findVersion(UUID id);
     void save(User u);
 }
@@ -0,0 +1,326 @@
+package com.datn.identity.infrastructure.audit;
+
+import com.datn.identity.domain.audit.AuditLog;
+import com.datn.identity.domain.audit.AuditLogRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Asynchronous, batched audit writer. Business services hand their entries over with
+ * {@link #submitAfterCommit}, so the INSERT is off the request path and only committed
+ * changes are audited; entries outside a transaction (login events, exports, ...) use
+ * {@link #submit}. An entry queued after commit is lost if the process dies before the
+ * next flush, unless it was spilled.
+ *
+ * Entries go into a bounded in-memory buffer and a single flusher thread writes them with
+ * one JDBC batch when either batch-size entries are buffered or flush-interval-ms has passed.
+ * When the buffer is full the overflow policy applies:
+ *  - BLOCK: the caller waits for space (no loss, back-pressure on the request thread)
+ *  - DROP:  the entry is discarded and audit.writer.dropped is incremented
+ *  - SPILL: the entry is appended to an NDJSON file under spill-dir and replayed once the
+ *           buffer drains (also used for batches that fail to write)
+ * On shutdown the buffer is drained before the DataSource goes away.
+ */
+@Component
+public class AsyncAuditWriter implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(AsyncAuditWriter.class);
+    private static final String SPILL_FILE = "audit-spill.ndjson";
+    private static final String REPLAY_SUFFIX = ".replay";
+
+    public enum OverflowPolicy { BLOCK, DROP, SPILL }
+
+    private final AuditLogRepository auditLogs;
+    private final ObjectMapper mapper;
+    private final BlockingQueue<AuditLog> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long shutdownTimeoutMs;
+    private final OverflowPolicy overflow;
+    private final Path spillDir;
+    // Not synchronized: file I/O under a monitor would pin virtual threads to their carrier
+    private final ReentrantLock spillLock = new ReentrantLock();
+
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter spilled;
+    private final Counter failed;
+    private final Timer flushTimer;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public AsyncAuditWriter(AuditLogRepository auditLogs,
+                            ObjectMapper mapper,
+                            MeterRegistry registry,
+                            @Value("${app.audit.async.capacity:10000}") int capacity,
+                            @Value("${app.audit.async.batch-size:500}") int batchSize,
+                            @Value("${app.audit.async.flush-interval-ms:1000}") long flushIntervalMs,
+                            @Value("${app.audit.async.shutdown-timeout-ms:10000}") long shutdownTimeoutMs,
+                            @Value("${app.audit.async.overflow:BLOCK}") String overflow,
+                            @Value("${app.audit.async.spill-dir:/tmp/identity-audit-spill}") String spillDir) {
+        this.auditLogs = auditLogs;
+        this.mapper = mapper;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, flushIntervalMs));
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.overflow = OverflowPolicy.valueOf(overflow.trim().toUpperCase(Locale.ROOT));
+        this.spillDir = Path.of(spillDir);
+
+        Gauge.builder("audit.writer.queue.depth", buffer, BlockingQueue::size)
+            .description("Audit entries waiting to be written")
+            .register(registry);
+        this.written = Counter.builder("audit.writer.written").register(registry);
+        this.dropped = Counter.builder("audit.writer.dropped")
+            .description("Audit entries discarded because the buffer was full (DROP policy)")
+            .register(registry);
+        this.spilled = Counter.builder("audit.writer.spilled").register(registry);
+        this.failed = Counter.builder("audit.writer.failed").register(registry);
+        this.flushTimer = Timer.builder("audit.writer.flush").register(registry);
+    }
+
+    /**
+     * Queues entry once the current transaction commits (dropped on rollback); outside a
+     * transaction, queues it now.
+     */
+    public void submitAfterCommit(AuditLog entry) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(entry);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submit(entry);
+            }
+        });
+    }
+
+    /**
+     * Queues an audit entry. Before start / after stop the entry is written synchronously.
+     */
+    public void submit(AuditLog entry) {
+        if (!running) {
+            auditLogs.save(entry);
+            return;
+        }
+
+        switch (overflow) {
+            case BLOCK -> {
+                try {
+                    buffer.put(entry);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    auditLogs.save(entry);
+                }
+            }
+            case DROP -> {
+                if (!buffer.offer(entry)) {
+                    dropped.increment();
+                }
+            }
+            case SPILL -> {
+                if (!buffer.offer(entry)) {
+                    spill(List.of(entry));
+                }
+            }
+        }
+    }
+
+    // ---- lifecycle ----
+
+    @Override
+    public void start() {
+        running = true;
+        flusher = new Thread(this::runLoop, "audit-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (flusher != null) {
+            try {
+                flusher.join(shutdownTimeoutMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (flusher.isAlive()) {
+                log.warn("Audit writer did not drain within {} ms; {} entries left in buffer", shutdownTimeoutMs, buffer.size());
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops after the web server (lower phase stops later) so in-flight requests can still
+     * enqueue, and before the DataSource is closed.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    // ---- flusher ----
+
+    private void runLoop() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                fillBatch(batch);
+            } catch (InterruptedException e) {
+                break;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            } else if (overflow == OverflowPolicy.SPILL) {
+                replaySpill();
+            }
+        }
+
+        // Graceful drain
+        while (!buffer.isEmpty()) {
+            buffer.drainTo(batch, batchSize);
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    /** Collects up to batchSize entries, waiting at most one flush interval after the first poll. */
+    private void fillBatch(List<AuditLog> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < batchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) return;
+            AuditLog next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) return;
+            batch.add(next);
+            buffer.drainTo(batch, batchSize - batch.size());
+        }
+    }
+
+    private void flush(List<AuditLog> batch) {
+        try {
+            flushTimer.record(() -> auditLogs.saveAll(batch));
+            written.increment(batch.size());
+        } catch (Exception e) {
+            failed.increment(batch.size());
+            if (overflow == OverflowPolicy.SPILL) {
+                log.warn("Audit batch of {} failed, spilling to disk: {}", batch.size(), e.getMessage());
+                spill(batch);
+            } else {
+                log.error("Audit batch of {} failed and was lost: {}", batch.size(), e.getMessage(), e);
+            }
+        }
+    }
+
+    // ---- spill ----
+
+    private void spill(List<AuditLog> entries) {
+        spillLock.lock();
+        try {
+            try {
+                Files.createDirectories(spillDir);
+                try (BufferedWriter w = Files.newBufferedWriter(spillDir.resolve(SPILL_FILE), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (AuditLog entry : entries) {
+                        w.write(mapper.writeValueAsString(entry));
+                        w.newLine();
+                    }
+                }
+                spilled.increment(entries.size());
+            } catch (IOException e) {
+                dropped.increment(entries.size());
+                log.error("Failed to spill {} audit entries: {}", entries.size(), e.getMessage());
+            }
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    /**
+     * Moves the active spill file aside and writes every pending replay file back to the
+     * database. Files are deleted only after all of their rows were written; re-inserting a
+     * partially written file is harmless because inserts skip existing ids.
+     */
+    private void replaySpill() {
+        Path active = spillDir.resolve(SPILL_FILE);
+        try {
+            spillLock.lock();
+            try {
+                if (Files.exists(active)) {
+                    Files.move(active, spillDir.resolve("audit-spill-" + System.currentTimeMillis() + REPLAY_SUFFIX),
+                        StandardCopyOption.ATOMIC_MOVE);
+                }
+            } finally {
+                spillLock.unlock();
+            }
+            if (!Files.isDirectory(spillDir)) return;
+
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(spillDir, "*" + REPLAY_SUFFIX)) {
+                for (Path file : files) {
+                    replayFile(file);
+                    Files.delete(file);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Audit spill replay deferred: {}", e.getMessage());
+        }
+    }
+
+    private void replayFile(Path file) throws IOException {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        int total = 0;
+        try (BufferedReader r = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = r.readLine()) != null) {
+                if (line.isBlank()) continue;
+                batch.add(mapper.readValue(line, AuditLog.class));
+                if (batch.size() >= batchSize) {
+                    auditLogs.saveAll(batch);
+                    total += batch.size();
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            auditLogs.saveAll(batch);
+            total += batch.size();
+        }
+        written.increment(total);
+        log.info("Replayed {} spilled audit entries from {}", total, file.getFileName());
+    }
+}
@@ -0,0 +1,208 @@
+package com.datn.identity.infrastructure.audit;
+
+import com.datn.identity.domain.audit.AuditArchiveRepository;
+import com.datn.identity.domain.audit.AuditArchiveSegment;
+import com.datn.identity.domain.audit.AuditLog;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Moves aged audit_logs partitions into the cold archive and answers read-through
+ * queries against it.
+ *
+ * A month is archived in one transaction: the partition is SHARE-locked and streamed into
+ * segment files, the segments are indexed and the partition is dropped. If anything fails
+ * the transaction rolls back, the partition stays live and the next run rewrites the files.
+ */
+@Service
+public class AuditArchiveService {
+    private static final Logger log = LoggerFactory.getLogger(AuditArchiveService.class);
+
+    public record ArchivePage(List<AuditLog> items, long total) {}
+
+    private static final int MAX_CACHED_COUNTS = 10_000;
+
+    private final AuditArchiveRepository archive;
+    private final AuditArchiveStore store;
+    // Archived months never change, so a month's match count for given bounds and filters
+    // stays valid until the month is purged
+    private final Map<String, Long> matchCounts = new ConcurrentHashMap<>();
+
+    public AuditArchiveService(AuditArchiveRepository archive, AuditArchiveStore store) {
+        this.archive = archive;
+        this.store = store;
+    }
+
+    /**
+     * Live partition months strictly before cutoff, oldest first.
+     */
+    public List<LocalDate> monthsBefore(LocalDate cutoff) {
+        return archive.listPartitionMonths().stream()
+            .filter(month -> month.isBefore(cutoff))
+            .toList();
+    }
+
+    @Transactional(rollbackOn = Exception.class)
+    public long archiveMonth(LocalDate month) throws IOException {
+        List<AuditArchiveSegment> segments;
+        try (var writer = store.openMonth(month)) {
+            archive.streamPartition(month, writer::write);
+            segments = writer.finish();
+        }
+        archive.saveSegments(segments);
+        archive.saveOrgCounts(month);
+        archive.dropPartition(month);
+
+        long rows = segments.stream().mapToLong(AuditArchiveSegment::rowCount).sum();
+        log.info("Archived audit month {}: {} rows in {} segments", month, rows, segments.size());
+        return rows;
+    }
+
+    /**
+     * Whether a query starting at from can reach archived months.
+     */
+    public boolean covers(Instant from) {
+        return from != null && archive.archivedUntil().map(from::isBefore).orElse(false);
+    }
+
+    /**
+     * Archived entries of orgId within [from, to] that pass filter (null = no filter),
+     * newest first. Returns the window [offset, offset + limit) together with the match count.
+     *
+     * Only months that overlap the window are decompressed. Other months are counted without
+     * reading: from matchCounts (months read before with the same filterKey and bounds), or
+     * from the per-org counts recorded at archive time, which are exact for an unfiltered,
+     * whole-month query and an upper bound otherwise, so with filters the total can be an
+     * overestimate. Months archived without counts are read once to count them.
+     *
+     * Each month's entries for one org are stored in ascending created_at order; a month
+     * whose count is known buffers only the window's entries, otherwise the newest
+     * (offset + limit) matches of that month.
+     */
+    public ArchivePage query(UUID orgId, Predicate<AuditLog> filter, String filterKey,
+                             Instant from, Instant to, long offset, int limit) {
+        List<AuditLog> window = new ArrayList<>(Math.max(limit, 0));
+        long total = 0;
+        Map<LocalDate, Long> orgCounts = null;
+
+        List<AuditArchiveSegment> segments = archive.findSegments(orgId, from, to);
+        int i = 0;
+        while (i < segments.size()) {
+            LocalDate month = segments.get(i).month();
+            int end = i;
+            while (end < segments.size() && segments.get(end).month().equals(month)) end++;
+            List<AuditArchiveSegment> monthSegments = segments.subList(i, end);
+            i = end;
+
+            int need = limit - window.size();
+            long skip = Math.max(0, offset - total);
+            boolean wholeMonth = covers(month, from, to);
+            String key = orgId + "|" + month + "|" + (wholeMonth ? "*" : from + "~" + to) + "|" + filterKey;
+
+            Long known = matchCounts.get(key);
+            if (known == null && filter == null && wholeMonth) {
+                if (orgCounts == null) orgCounts = archive.findOrgCounts(orgId);
+                known = orgCounts.get(month);
+            }
+            if (known != null && (need <= 0 || skip >= known)) {
+                total += known;
+                continue;
+            }
+            if (need <= 0) {
+                if (orgCounts == null) orgCounts = archive.findOrgCounts(orgId);
+                Long upperBound = orgCounts.get(month);
+                if (upperBound != null) {
+                    total += upperBound;
+                    continue;
+                }
+            }
+
+            long count = readMonth(monthSegments, orgId, filter, from, to, known, skip, Math.max(need, 0), window);
+            if (matchCounts.size() >= MAX_CACHED_COUNTS) matchCounts.clear();
+            matchCounts.put(key, count);
+            total += count;
+        }
+        return new ArchivePage(window, total);
+    }
+
+    /**
+     * Removes archived months before cutoff: index rows first (in a transaction), then files.
+     * A file that cannot be deleted is only orphaned; it is no longer reachable by queries.
+     */
+    public int purgeBefore(LocalDate cutoff) {
+        List<AuditArchiveSegment> removed = archive.deleteSegmentsBefore(cutoff);
+        matchCounts.clear();
+        for (AuditArchiveSegment segment : removed) {
+            try {
+                store.delete(segment.path());
+            } catch (IOException e) {
+                log.warn("Failed to delete audit archive segment {}: {}", segment.path(), e.getMessage());
+            }
+        }
+        return removed.size();
+    }
+
+    /**
+     * Streams one month's matches and appends its newest-first slice [skip, skip + need) to
+     * window; returns the month's match count. With known set, the slice is the ascending
+     * index range [known - skip - need, known - skip) and nothing else is kept.
+     */
+    private long readMonth(List<AuditArchiveSegment> segments, UUID orgId, Predicate<AuditLog> filter,
+                           Instant from, Instant to, Long known, long skip, int need, List<AuditLog> window) {
+        ArrayDeque<AuditLog> kept = new ArrayDeque<>();
+        long[] seen = {0};
+        long keepFrom = known != null ? known - skip - need : 0;
+        long keepTo = known != null ? known - skip : Long.MAX_VALUE;
+        long keepLast = need > 0 ? skip + need : 0;
+        for (AuditArchiveSegment segment : segments) {
+            readSegment(segment.path(), orgId, entry -> {
+                Instant at = entry.createdAt();
+                if ((from != null && at.isBefore(from)) || (to != null && at.isAfter(to))
+                        || (filter != null && !filter.test(entry))) {
+                    return;
+                }
+                long index = seen[0]++;
+                if (need <= 0 || index < keepFrom || index >= keepTo) return;
+                kept.addLast(entry);
+                if (known == null && kept.size() > keepLast) kept.pollFirst();
+            });
+        }
+
+        List<AuditLog> newestFirst = new ArrayList<>(kept);
+        Collections.reverse(newestFirst);
+        int first = known != null ? 0 : (int) Math.min(skip, newestFirst.size());
+        window.addAll(newestFirst.subList(first, Math.min(newestFirst.size(), first + need)));
+        return seen[0];
+    }
+
+    private static boolean covers(LocalDate month, Instant from, Instant to) {
+        Instant start = month.atStartOfDay(ZoneOffset.UTC).toInstant();
+        Instant end = month.plusMonths(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        return (from == null || !from.isAfter(start)) && (to == null || !to.isBefore(end));
+    }
+
+    private void readSegment(String path, UUID orgId, Consumer<AuditLog> consumer) {
+        try {
+            store.read(path, orgId, consumer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
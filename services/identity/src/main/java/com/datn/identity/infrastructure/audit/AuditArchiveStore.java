@@ -0,0 +1,197 @@
+package com.datn.identity.infrastructure.audit;
+
+import com.datn.identity.domain.audit.AuditArchiveSegment;
+import com.datn.identity.domain.audit.AuditLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * File side of the audit cold archive.
+ *
+ * Each archived month lives in its own directory (yyyy_MM) as gzip-compressed NDJSON
+ * segments of at most segment-rows entries. Rows arrive ordered by org_id, created_at, so
+ * an org's entries are contiguous and each segment records the first/last org it holds
+ * (in database order) plus its time range; the segment index in the database uses those
+ * bounds to skip files that cannot match a query.
+ *
+ * Segment paths are stored relative to the archive root so the directory can be moved.
+ */
+@Component
+public class AuditArchiveStore {
+    private static final DateTimeFormatter MONTH_DIR = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final String SEGMENT_SUFFIX = ".ndjson.gz";
+
+    private final ObjectMapper mapper;
+    private final Path root;
+    private final int segmentRows;
+
+    public AuditArchiveStore(ObjectMapper mapper,
+                             @Value("${app.audit.archive.dir:/var/lib/identity/audit-archive}") String root,
+                             @Value("${app.audit.archive.segment-rows:100000}") int segmentRows) {
+        this.mapper = mapper;
+        this.root = Path.of(root);
+        this.segmentRows = Math.max(segmentRows, 1);
+    }
+
+    /**
+     * Starts writing a month. Any files left over from an earlier, unfinished attempt are
+     * removed first, so archiving a month is safe to retry.
+     */
+    public MonthWriter openMonth(LocalDate month) throws IOException {
+        LocalDate first = month.withDayOfMonth(1);
+        String dir = first.format(MONTH_DIR);
+        Path monthDir = root.resolve(dir);
+        if (Files.isDirectory(monthDir)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(monthDir)) {
+                for (Path file : files) {
+                    Files.delete(file);
+                }
+            }
+        }
+        Files.createDirectories(monthDir);
+        return new MonthWriter(first, dir);
+    }
+
+    /**
+     * Reads the entries of orgId from one segment in file order (created_at ascending),
+     * stopping as soon as the org's contiguous run has been passed.
+     */
+    public void read(String path, UUID orgId, Consumer<AuditLog> consumer) throws IOException {
+        Path file = root.resolve(path);
+        if (!Files.exists(file)) {
+            throw new IOException("Audit archive segment missing: " + path);
+        }
+        try (BufferedReader r = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file), 1 << 16), StandardCharsets.UTF_8))) {
+            boolean seen = false;
+            String line;
+            while ((line = r.readLine()) != null) {
+                if (line.isBlank()) continue;
+                AuditLog entry = mapper.readValue(line, AuditLog.class);
+                if (orgId.equals(entry.orgId())) {
+                    seen = true;
+                    consumer.accept(entry);
+                } else if (seen) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes a segment file, and its month directory once empty.
+     */
+    public void delete(String path) throws IOException {
+        Path file = root.resolve(path);
+        Files.deleteIfExists(file);
+        Path dir = file.getParent();
+        if (dir != null && !dir.equals(root) && Files.isDirectory(dir)) {
+            try (DirectoryStream<Path> rest = Files.newDirectoryStream(dir)) {
+                if (!rest.iterator().hasNext()) {
+                    Files.delete(dir);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes one month's entries, rolling to a new segment every segment-rows entries.
+     * Each segment is written to a temp file and moved into place when complete.
+     */
+    public class MonthWriter implements AutoCloseable {
+        private final LocalDate month;
+        private final String dir;
+        private final List<AuditArchiveSegment> segments = new ArrayList<>();
+
+        private BufferedWriter out;
+        private Path tmp;
+        private String path;
+        private long rows;
+        private UUID firstOrg;
+        private UUID lastOrg;
+        private Instant minCreatedAt;
+        private Instant maxCreatedAt;
+
+        private MonthWriter(LocalDate month, String dir) {
+            this.month = month;
+            this.dir = dir;
+        }
+
+        public void write(AuditLog entry) throws IOException {
+            if (out == null) {
+                openSegment();
+            }
+            out.write(mapper.writeValueAsString(entry));
+            out.newLine();
+
+            rows++;
+            if (firstOrg == null) firstOrg = entry.orgId();
+            lastOrg = entry.orgId();
+            Instant at = entry.createdAt();
+            if (minCreatedAt == null || at.isBefore(minCreatedAt)) minCreatedAt = at;
+            if (maxCreatedAt == null || at.isAfter(maxCreatedAt)) maxCreatedAt = at;
+
+            if (rows >= segmentRows) {
+                closeSegment();
+            }
+        }
+
+        /**
+         * Completes the last segment and returns every segment written for the month.
+         */
+        public List<AuditArchiveSegment> finish() throws IOException {
+            closeSegment();
+            return List.copyOf(segments);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (out != null) {
+                out.close();
+                out = null;
+                Files.deleteIfExists(tmp);
+            }
+        }
+
+        private void openSegment() throws IOException {
+            path = dir + "/segment-" + String.format("%05d", segments.size() + 1) + SEGMENT_SUFFIX;
+            tmp = root.resolve(path + ".tmp");
+            out = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(tmp), 1 << 16), StandardCharsets.UTF_8));
+            rows = 0;
+            firstOrg = null;
+            lastOrg = null;
+            minCreatedAt = null;
+            maxCreatedAt = null;
+        }
+
+        private void closeSegment() throws IOException {
+            if (out == null) return;
+            out.close();
+            out = null;
+            Files.move(tmp, root.resolve(path), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            segments.add(new AuditArchiveSegment(month, path, rows, firstOrg, lastOrg, minCreatedAt, maxCreatedAt));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.datn.identity.infrastructure.audit;
+
+import com.datn.identity.domain.audit.AuditPartitionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Daily upkeep of the monthly audit_logs partitions:
+ *  - keeps partitions from the previous month through months-ahead in place so inserts,
+ *    including late ingested rows, never hit a missing range
+ *  - adds BRIN indexes on created_at once a month is closed
+ *  - when the archive is enabled, moves closed months older than archive.after-months
+ *    into the cold archive (see AuditArchiveService)
+ *  - drops months older than retention-months (0 = keep forever), live or archived
+ *
+ * Also runs once at startup so a fresh deployment is covered immediately.
+ */
+@Service
+public class AuditPartitionMaintainer {
+    private static final Logger log = LoggerFactory.getLogger(AuditPartitionMaintainer.class);
+
+    private final AuditPartitionRepository partitions;
+    private final AuditArchiveService archive;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final boolean archiveEnabled;
+    private final int archiveAfterMonths;
+
+    public AuditPartitionMaintainer(AuditPartitionRepository partitions,
+                                    AuditArchiveService archive,
+                                    @Value("${app.audit.partitions.months-ahead:3}") int monthsAhead,
+                                    @Value("${app.audit.retention.months:0}") int retentionMonths,
+                                    @Value("${app.audit.archive.enabled:false}") boolean archiveEnabled,
+                                    @Value("${app.audit.archive.after-months:6}") int archiveAfterMonths) {
+        this.partitions = partitions;
+        this.archive = archive;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.archiveEnabled = archiveEnabled;
+        this.archiveAfterMonths = Math.max(archiveAfterMonths, 1);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${app.audit.partitions.cron:0 15 3 * * *}", zone = "UTC")
+    public void maintain() {
+        try {
+            LocalDate currentMonth = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1);
+            int created = partitions.ensureFuturePartitions(monthsAhead);
+            int indexed = partitions.indexClosedPartitions();
+
+            int dropped = 0;
+            int purged = 0;
+            if (retentionMonths > 0) {
+                LocalDate cutoff = currentMonth.minusMonths(retentionMonths);
+                dropped = partitions.dropPartitionsBefore(cutoff);
+                purged = archive.purgeBefore(cutoff);
+            }
+
+            int archived = 0;
+            if (archiveEnabled) {
+                for (LocalDate month : archive.monthsBefore(currentMonth.minusMonths(archiveAfterMonths))) {
+                    archive.archiveMonth(month);
+                    archived++;
+                }
+            }
+
+            if (created + indexed + dropped + purged + archived > 0) {
+                log.info("Audit partitions: created {}, BRIN-indexed {}, dropped {}, archived {}, purged {} archive segments",
+                    created, indexed, dropped, archived, purged);
+            }
+        } catch (Exception e) {
+            log.error("Audit partition maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -1,24 +1,32 @@
 package com.datn.identity.infrastructure.config;
 
 import com.datn.identity.domain.user.*;
+import com.datn.identity.infrastructure.security.BoundedPasswordHasher;
+import com.datn.identity.infrastructure.security.CalibratedBcryptHasher;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCrypt;
-import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class ApplicationConfig {
 
+    /**
+     * BCrypt with a cost calibrated against app.security.hashing.budget-ms at startup
+     * (CalibratedBcryptHasher), run on a dedicated CPU-sized pool (BoundedPasswordHasher);
+     * threads = 0 means one per available processor.
+     */
     @Bean
-    PasswordHasher passwordHasher() {
-        return new PasswordHasher() {
-            @Override public String hash(String rawPlusPepper) {
-                return BCrypt.hashpw(rawPlusPepper, BCrypt.gensalt(10));
-            }
-            @Override public boolean matches(String rawPlusPepper, String hash) {
-                return BCrypt.checkpw(rawPlusPepper, hash);
-            }
-        };
+    PasswordHasher passwordHasher(MeterRegistry registry,
+                                  @Value("${app.security.hashing.threads:0}") int threads,
+                                  @Value("${app.security.hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${app.security.hashing.timeout-ms:5000}") long timeoutMs,
+                                  @Value("${app.security.hashing.budget-ms:250}") long budgetMs,
+                                  @Value("${app.security.hashing.min-cost:10}") int minCost,
+                                  @Value("${app.security.hashing.max-cost:14}") int maxCost) {
+        var bcrypt = new CalibratedBcryptHasher(registry, budgetMs, minCost, maxCost);
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordHasher(bcrypt, registry, poolSize, queueCapacity, timeoutMs);
     }
 
     @Bean
@@ -29,9 +37,4 @@ public class ApplicationConfig {
             }
         };
     }
-
-    @Bean
-    RestTemplate restTemplate() {
-        return new RestTemplate();
-    }
 }
\ No newline at end of file
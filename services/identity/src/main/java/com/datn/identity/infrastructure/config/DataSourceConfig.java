@@ -0,0 +1,120 @@
+package com.datn.identity.infrastructure.config;
+
+import com.datn.identity.infrastructure.persistence.ReplicaRoutingDataSource;
+import com.datn.identity.infrastructure.persistence.Workload;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Connection pools per database and workload class, behind one routing DataSource.
+ *
+ * The primary's OLTP pool is configured by spring.datasource(.hikari). REPORTING and BATCH
+ * get their own, smaller pools on the same database (app.datasource.workloads.&lt;class&gt;),
+ * and each class has its statement timeout set on its connections, so a slow audit search
+ * is cancelled long before it could hold a login's connection. Read replicas come from
+ * app.datasource.replica.urls (comma-separated JDBC URLs; same credentials unless
+ * app.datasource.replica.username / password are set) and get the same three pools.
+ *
+ * The DataSource everything uses is a lazy proxy over {@link ReplicaRoutingDataSource};
+ * with no replicas configured every connection goes to the primary.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties,
+                                       @Value("${app.datasource.workloads.oltp.statement-timeout-ms:5000}") long statementTimeoutMs) {
+        HikariDataSource ds = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        ds.setPoolName("primary-oltp");
+        ds.setConnectionInitSql(statementTimeoutSql(statementTimeoutMs));
+        return ds;
+    }
+
+    @Bean
+    ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                      DataSourceProperties properties,
+                                                      Environment env,
+                                                      MeterRegistry registry,
+                                                      @Value("${app.datasource.replica.urls:}") List<String> urls,
+                                                      @Value("${app.datasource.replica.username:}") String username,
+                                                      @Value("${app.datasource.replica.password:}") String password,
+                                                      @Value("${app.datasource.replica.pool-size:10}") int replicaPoolSize,
+                                                      @Value("${app.datasource.replica.max-lag-ms:5000}") long maxLagMs) {
+        Map<Workload, DataSource> primaryPools = new EnumMap<>(Workload.class);
+        primaryPools.put(Workload.OLTP, primaryDataSource);
+        for (Workload w : List.of(Workload.REPORTING, Workload.BATCH)) {
+            primaryPools.put(w, pool(env, registry, "primary", w, primaryDataSource.getJdbcUrl(),
+                primaryDataSource.getUsername(), primaryDataSource.getPassword(),
+                properties.determineDriverClassName(), primaryDataSource.getConnectionTimeout(), false, 0));
+        }
+
+        List<ReplicaRoutingDataSource.Target> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (url == null || url.isBlank()) continue;
+            String name = "replica-" + (replicas.size() + 1);
+            Map<Workload, DataSource> pools = new EnumMap<>(Workload.class);
+            for (Workload w : Workload.values()) {
+                pools.put(w, pool(env, registry, name, w, url.trim(),
+                    username.isBlank() ? properties.determineUsername() : username,
+                    password.isBlank() ? properties.determinePassword() : password,
+                    properties.determineDriverClassName(), primaryDataSource.getConnectionTimeout(), true,
+                    w == Workload.OLTP ? replicaPoolSize : 0));
+            }
+            replicas.add(new ReplicaRoutingDataSource.Target(name, pools));
+        }
+        return new ReplicaRoutingDataSource(new ReplicaRoutingDataSource.Target("primary", primaryPools),
+            replicas, maxLagMs, registry);
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /** A non-bean pool for one target and workload class; size 0 = the class's pool-size. */
+    private static HikariDataSource pool(Environment env, MeterRegistry registry, String target, Workload workload,
+                                         String url, String username, String password, String driver,
+                                         long connectionTimeoutMs, boolean replica, int size) {
+        String prefix = "app.datasource.workloads." + workload.name().toLowerCase(Locale.ROOT) + ".";
+        int poolSize = size > 0 ? size : env.getProperty(prefix + "pool-size", Integer.class, 4);
+        long statementTimeoutMs = env.getProperty(prefix + "statement-timeout-ms", Long.class,
+            workload == Workload.OLTP ? 5000L : workload == Workload.REPORTING ? 30_000L : 0L);
+
+        HikariDataSource ds = new HikariDataSource();
+        ds.setPoolName(ReplicaRoutingDataSource.key(target, workload));
+        ds.setJdbcUrl(url);
+        ds.setUsername(username);
+        ds.setPassword(password);
+        ds.setDriverClassName(driver);
+        ds.setMaximumPoolSize(poolSize);
+        ds.setMinimumIdle(Math.min(1, poolSize));
+        ds.setConnectionTimeout(connectionTimeoutMs);
+        ds.setConnectionInitSql(statementTimeoutSql(statementTimeoutMs));
+        ds.setReadOnly(replica);
+        ds.setInitializationFailTimeout(-1); // a database that is down must not stop startup
+        ds.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        return ds;
+    }
+
+    private static String statementTimeoutSql(long ms) {
+        return "SET statement_timeout = " + Math.max(0, ms);
+    }
+}
@@ -0,0 +1,86 @@
+package com.datn.identity.infrastructure.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Pinning diagnostics for virtual-thread mode (spring.threads.virtual.enabled).
+ *
+ * Streams the JFR jdk.VirtualThreadPinned event, emitted when a virtual thread blocks while
+ * it cannot unmount from its carrier (typically blocking I/O or a lock wait inside a
+ * synchronized block), for pins longer than threshold-ms. Each pin is counted in
+ * virtual.threads.pinned; the first occurrence of each distinct stack is logged with its
+ * top frames so the offending synchronized path can be found and moved to a
+ * ReentrantLock.
+ */
+@Component
+@ConditionalOnProperty(name = {"spring.threads.virtual.enabled", "app.threads.pinning-diagnostics.enabled"},
+                       havingValue = "true")
+public class VirtualThreadDiagnostics implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadDiagnostics.class);
+    private static final int MAX_FRAMES = 8;
+    private static final int MAX_REPORTED_STACKS = 256;
+
+    private final Counter pinned;
+    private final long thresholdMs;
+    private final Set<String> reported = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    public VirtualThreadDiagnostics(MeterRegistry registry,
+                                    @Value("${app.threads.pinning-diagnostics.threshold-ms:20}") long thresholdMs) {
+        this.pinned = Counter.builder("virtual.threads.pinned").register(registry);
+        this.thresholdMs = thresholdMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (stream != null) return;
+        try {
+            RecordingStream rs = new RecordingStream();
+            rs.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+            rs.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+            rs.startAsync();
+            stream = rs;
+            log.info("Virtual thread pinning diagnostics on (threshold {} ms)", thresholdMs);
+        } catch (Exception e) {
+            log.warn("Virtual thread pinning diagnostics unavailable: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.increment();
+        if (event.getStackTrace() == null) return;
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        String stack = frames.stream()
+            .limit(MAX_FRAMES)
+            .map(f -> f.getMethod().getType().getName() + "." + f.getMethod().getName() + ":" + f.getLineNumber())
+            .collect(Collectors.joining("\n\tat "));
+        if (reported.size() < MAX_REPORTED_STACKS && reported.add(stack)) {
+            log.warn("Virtual thread pinned for {} ms\n\tat {}", event.getDuration().toMillis(), stack);
+        }
+    }
+}
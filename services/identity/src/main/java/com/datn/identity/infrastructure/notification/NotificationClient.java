@@ -1,5 +1,6 @@
 package com.datn.identity.infrastructure.notification;
 
+import com.datn.identity.infrastructure.web.OutboundHttpClients;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -21,9 +22,9 @@ public class NotificationClient {
     private final String notificationServiceUrl;
 
     public NotificationClient(
-            RestTemplate restTemplate,
+            OutboundHttpClients httpClients,
             @Value("${app.notification-service-url:http://notification-api:3000}") String notificationServiceUrl) {
-        this.restTemplate = restTemplate;
+        this.restTemplate = httpClients.create("notification");
         this.notificationServiceUrl = notificationServiceUrl;
     }
 
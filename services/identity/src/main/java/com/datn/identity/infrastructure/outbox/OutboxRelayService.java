@@ -3,6 +3,8 @@ package com.datn.identity.infrastructure.outbox;
 import com.datn.identity.domain.outbox.OutboxMessage;
 import com.datn.identity.domain.outbox.OutboxRepository;
 import com.datn.identity.infrastructure.notification.NotificationClient;
+import com.datn.identity.infrastructure.persistence.OrganizationCache;
+import com.datn.identity.infrastructure.persistence.OrganizationSlugCache;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
@@ -13,6 +15,7 @@ import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Outbox Relay Service - polls outbox table and dispatches messages to external services.
@@ -25,7 +28,8 @@ import java.util.List;
  *
  * Topics handled:
  * - notification.email.send -> NotificationClient.sendEmail()
- * - identity.* -> Domain events (for audit/analytics, not critical)
+ * - identity.* -> Domain events (for audit/analytics, not critical);
+ *   identity.organization.* also evicts the org from OrganizationCache and OrganizationSlugCache
  */
 @Service
 public class OutboxRelayService {
@@ -35,15 +39,21 @@ public class OutboxRelayService {
     private final OutboxRepository outbox;
     private final NotificationClient notificationClient;
     private final ObjectMapper objectMapper;
+    private final OrganizationCache organizationCache;
+    private final OrganizationSlugCache slugCache;
     private final String frontendUrl;
 
     public OutboxRelayService(OutboxRepository outbox,
                                NotificationClient notificationClient,
                                ObjectMapper objectMapper,
+                               OrganizationCache organizationCache,
+                               OrganizationSlugCache slugCache,
                                @Value("${app.frontend-url}") String frontendUrl) {
         this.outbox = outbox;
         this.notificationClient = notificationClient;
         this.objectMapper = objectMapper;
+        this.organizationCache = organizationCache;
+        this.slugCache = slugCache;
         this.frontendUrl = frontendUrl;
     }
 
@@ -358,9 +368,28 @@ public class OutboxRelayService {
      */
     private void handleDomainEvent(OutboxMessage msg) {
         log.info("Domain event: topic={}, payload={}", msg.topic(), msg.payloadJson());
+        if (msg.topic().startsWith("identity.organization.")) {
+            evictOrganization(msg);
+        }
         // Future: Forward to analytics/audit service
     }
 
+    /**
+     * Drops the org from this instance's caches; best effort, never blocks the relay.
+     */
+    private void evictOrganization(OutboxMessage msg) {
+        try {
+            JsonNode orgId = objectMapper.readTree(msg.payloadJson()).get("orgId");
+            if (orgId != null && !orgId.isNull()) {
+                UUID id = UUID.fromString(orgId.asText());
+                organizationCache.evict(id);
+                slugCache.evict(id);
+            }
+        } catch (Exception e) {
+            log.warn("Cannot read orgId of {} id={}: {}", msg.topic(), msg.id(), e.getMessage());
+        }
+    }
+
     /**
      * Handle invitation created events.
      * Expected payload: { orgId, email, memberType, role, token, occurredAt }
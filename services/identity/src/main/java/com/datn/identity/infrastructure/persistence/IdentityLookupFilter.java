@@ -0,0 +1,156 @@
+package com.datn.identity.infrastructure.persistence;
+
+import com.datn.identity.infrastructure.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory Bloom filters of existing user emails and organization slugs, used to answer
+ * "definitely does not exist" without a query (registration and slug availability/creation).
+ *
+ * Filled from the database at startup and rebuilt every rebuild-interval-ms; saves through
+ * the user and organization repositories add to them immediately. Until the first load
+ * completes every value "might exist", so callers fall through to the database. Writes made
+ * by another instance become visible here at the next rebuild; callers therefore only use
+ * a negative answer where the unique constraint still guards the write. Read paths that act
+ * on existence (forgot-password, slug resolution) must not use it.
+ */
+@Component
+public class IdentityLookupFilter {
+    private static final Logger log = LoggerFactory.getLogger(IdentityLookupFilter.class);
+    private static final int PAGE_SIZE = 10_000;
+    private static final long MIN_CAPACITY = 100_000;
+
+    private final JdbcClient jdbc;
+    private final double falsePositiveRate;
+    private final Values emails = new Values("users", "email");
+    private final Values slugs = new Values("organizations", "slug");
+
+    public IdentityLookupFilter(JdbcClient jdbc,
+                                @Value("${app.lookup-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.jdbc = jdbc;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public boolean mightHaveEmail(String email) {
+        return email == null || emails.mightContain(email);
+    }
+
+    public boolean mightHaveSlug(String slug) {
+        return slug == null || slugs.mightContain(slug);
+    }
+
+    public void addEmail(String email) {
+        if (email != null) emails.add(email);
+    }
+
+    public void addSlug(String slug) {
+        if (slug != null) slugs.add(slug);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.lookup-filter.rebuild-interval-ms:600000}",
+               initialDelayString = "${app.lookup-filter.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        try {
+            long e = emails.rebuild();
+            long s = slugs.rebuild();
+            log.debug("Lookup filters rebuilt: {} emails, {} slugs", e, s);
+        } catch (Exception ex) {
+            log.error("Failed to rebuild lookup filters: {}", ex.getMessage(), ex);
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * One filter plus the one being rebuilt; adds go to both so nothing written during a
+     * rebuild scan is lost when the new filter is swapped in.
+     */
+    private final class Values {
+        private final String table;
+        private final String column;
+        // Not synchronized: the rebuild scan runs queries, which would pin a virtual thread
+        private final ReentrantLock rebuildLock = new ReentrantLock();
+        private volatile BloomFilter current;
+        private volatile BloomFilter building;
+
+        Values(String table, String column) {
+            this.table = table;
+            this.column = column;
+        }
+
+        boolean mightContain(String value) {
+            BloomFilter f = current;
+            return f == null || f.mightContain(normalize(value));
+        }
+
+        void add(String value) {
+            String v = normalize(value);
+            // building before current: rebuild swaps current in before clearing building
+            BloomFilter b = building;
+            BloomFilter f = current;
+            if (b != null) b.put(v);
+            if (f != null && f != b) f.put(v);
+        }
+
+        long rebuild() {
+            rebuildLock.lock();
+            try {
+                return rebuildLocked();
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+
+        private long rebuildLocked() {
+            long estimate = jdbc.sql("SELECT GREATEST(reltuples, 0)::bigint FROM pg_class WHERE oid = CAST(? AS regclass)")
+                .param(table)
+                .query(Long.class)
+                .optional()
+                .orElse(0L);
+            BloomFilter next = new BloomFilter(Math.max(MIN_CAPACITY, estimate * 2), falsePositiveRate);
+            building = next;
+            long count = 0;
+            try {
+                // Keyset pagination over the citext UNIQUE index
+                String sql = "SELECT " + column + "::text AS v FROM " + table
+                    + " WHERE " + column + " > CAST(? AS citext) ORDER BY " + column + " LIMIT ?";
+                String after = "";
+                while (true) {
+                    List<String> page = jdbc.sql(sql)
+                        .param(after)
+                        .param(PAGE_SIZE)
+                        .query(String.class)
+                        .list();
+                    for (String v : page) {
+                        next.put(normalize(v));
+                    }
+                    count += page.size();
+                    if (page.size() < PAGE_SIZE) break;
+                    after = page.get(page.size() - 1);
+                }
+                current = next;
+            } finally {
+                building = null;
+            }
+            return count;
+        }
+    }
+}
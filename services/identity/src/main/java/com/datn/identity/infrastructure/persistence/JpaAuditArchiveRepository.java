@@ -0,0 +1,232 @@
+package com.datn.identity.infrastructure.persistence;
+
+import com.datn.identity.domain.audit.AuditAction;
+import com.datn.identity.domain.audit.AuditArchiveRepository;
+import com.datn.identity.domain.audit.AuditArchiveSegment;
+import com.datn.identity.domain.audit.AuditLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+@WorkloadClass(Workload.BATCH)
+public class JpaAuditArchiveRepository implements AuditArchiveRepository {
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcClient jdbc;
+    private final JdbcTemplate cursor;
+    private final ObjectMapper mapper;
+
+    public JpaAuditArchiveRepository(JdbcClient jdbc,
+                                     DataSource dataSource,
+                                     ObjectMapper mapper,
+                                     @Value("${app.export.fetch-size:1000}") int fetchSize) {
+        this.jdbc = jdbc;
+        this.cursor = new JdbcTemplate(dataSource);
+        this.cursor.setFetchSize(fetchSize);
+        this.mapper = mapper;
+    }
+
+    @Override
+    public List<LocalDate> listPartitionMonths() {
+        String sql = """
+            SELECT to_date(substring(c.relname from 12), 'YYYY_MM') AS month
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'audit_logs'::regclass
+              AND c.relname ~ '^audit_logs_[0-9]{4}_[0-9]{2}$'
+            ORDER BY 1
+            """;
+        return jdbc.sql(sql)
+            .query((rs, rowNum) -> rs.getDate("month").toLocalDate())
+            .list();
+    }
+
+    @Override
+    public void streamPartition(LocalDate month, EntryHandler handler) throws IOException {
+        String table = partitionName(month);
+        cursor.execute("LOCK TABLE " + table + " IN SHARE MODE");
+        try {
+            cursor.query("""
+                    SELECT id, org_id, user_id, action, description, metadata::text AS metadata,
+                           ip_address, user_agent, created_at
+                    FROM %s
+                    ORDER BY org_id, created_at
+                    """.formatted(table),
+                rs -> {
+                    try {
+                        handler.accept(mapRow(rs));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public void dropPartition(LocalDate month) {
+        jdbc.sql("DROP TABLE IF EXISTS " + partitionName(month)).update();
+    }
+
+    @Override
+    public void saveSegments(List<AuditArchiveSegment> segments) {
+        String sql = """
+            INSERT INTO audit_archive_segments
+              (month, path, row_count, min_org_id, max_org_id, min_created_at, max_created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (path) DO UPDATE SET
+              row_count = EXCLUDED.row_count,
+              min_org_id = EXCLUDED.min_org_id,
+              max_org_id = EXCLUDED.max_org_id,
+              min_created_at = EXCLUDED.min_created_at,
+              max_created_at = EXCLUDED.max_created_at
+            """;
+        for (var s : segments) {
+            jdbc.sql(sql)
+                .param(java.sql.Date.valueOf(s.month()))
+                .param(s.path())
+                .param(s.rowCount())
+                .param(s.minOrgId())
+                .param(s.maxOrgId())
+                .param(Timestamp.from(s.minCreatedAt()))
+                .param(Timestamp.from(s.maxCreatedAt()))
+                .update();
+        }
+    }
+
+    @Override
+    public void saveOrgCounts(LocalDate month) {
+        jdbc.sql("""
+                INSERT INTO audit_archive_org_counts (month, org_id, row_count)
+                SELECT ?, org_id, COUNT(*) FROM %s GROUP BY org_id
+                ON CONFLICT (org_id, month) DO UPDATE SET row_count = EXCLUDED.row_count
+                """.formatted(partitionName(month)))
+            .param(java.sql.Date.valueOf(month.withDayOfMonth(1)))
+            .update();
+    }
+
+    @Override
+    @WorkloadClass(Workload.REPORTING)
+    public Map<LocalDate, Long> findOrgCounts(UUID orgId) {
+        Map<LocalDate, Long> counts = new LinkedHashMap<>();
+        jdbc.sql("SELECT month, row_count FROM audit_archive_org_counts WHERE org_id = ?")
+            .param(orgId)
+            .query(rs -> {
+                counts.put(rs.getDate("month").toLocalDate(), rs.getLong("row_count"));
+            });
+        return counts;
+    }
+
+    @Override
+    @WorkloadClass(Workload.REPORTING)
+    public List<AuditArchiveSegment> findSegments(UUID orgId, Instant from, Instant to) {
+        StringBuilder sql = new StringBuilder("""
+            SELECT month, path, row_count, min_org_id, max_org_id, min_created_at, max_created_at
+            FROM audit_archive_segments
+            WHERE ? BETWEEN min_org_id AND max_org_id""");
+        List<Object> params = new ArrayList<>();
+        params.add(orgId);
+        if (from != null) {
+            sql.append(" AND max_created_at >= ?");
+            params.add(Timestamp.from(from));
+        }
+        if (to != null) {
+            sql.append(" AND min_created_at <= ?");
+            params.add(Timestamp.from(to));
+        }
+        sql.append(" ORDER BY month DESC, path");
+
+        var query = jdbc.sql(sql.toString());
+        for (Object param : params) {
+            query = query.param(param);
+        }
+        return query.query(this::mapSegment).list();
+    }
+
+    @Override
+    @WorkloadClass(Workload.REPORTING)
+    public Optional<Instant> archivedUntil() {
+        return jdbc.sql("SELECT MAX(month) AS month FROM audit_archive_segments")
+            .query((rs, rowNum) -> {
+                var month = rs.getDate("month");
+                return month == null ? null
+                    : month.toLocalDate().plusMonths(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+            })
+            .optional();
+    }
+
+    @Override
+    @Transactional
+    public List<AuditArchiveSegment> deleteSegmentsBefore(LocalDate cutoff) {
+        var removed = jdbc.sql("""
+                DELETE FROM audit_archive_segments
+                WHERE month < ?
+                RETURNING month, path, row_count, min_org_id, max_org_id, min_created_at, max_created_at
+                """)
+            .param(java.sql.Date.valueOf(cutoff))
+            .query(this::mapSegment)
+            .list();
+        jdbc.sql("DELETE FROM audit_archive_org_counts WHERE month < ?")
+            .param(java.sql.Date.valueOf(cutoff))
+            .update();
+        if (!removed.isEmpty()) {
+            jdbc.sql("DELETE FROM audit_activity_rollup WHERE day < ?")
+                .param(java.sql.Date.valueOf(cutoff))
+                .update();
+        }
+        return removed;
+    }
+
+    /** Partition names are derived from a LocalDate, never from user input. */
+    private static String partitionName(LocalDate month) {
+        return "audit_logs_" + month.withDayOfMonth(1).format(PARTITION_SUFFIX);
+    }
+
+    private AuditArchiveSegment mapSegment(ResultSet rs, int rowNum) throws SQLException {
+        return new AuditArchiveSegment(
+            rs.getDate("month").toLocalDate(),
+            rs.getString("path"),
+            rs.getLong("row_count"),
+            (UUID) rs.getObject("min_org_id"),
+            (UUID) rs.getObject("max_org_id"),
+            rs.getTimestamp("min_created_at").toInstant(),
+            rs.getTimestamp("max_created_at").toInstant()
+        );
+    }
+
+    private AuditLog mapRow(ResultSet rs) throws SQLException {
+        return new AuditLog(
+            (UUID) rs.getObject("id"),
+            (UUID) rs.getObject("org_id"),
+            (UUID) rs.getObject("user_id"),
+            AuditAction.valueOf(rs.getString("action")),
+            rs.getString("description"),
+            RawJsonMap.of(rs.getString("metadata"), mapper),
+            rs.getString("ip_address"),
+            rs.getString("user_agent"),
+            rs.getTimestamp("created_at").toInstant()
+        );
+    }
+}
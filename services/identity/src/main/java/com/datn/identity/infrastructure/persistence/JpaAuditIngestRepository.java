@@ -0,0 +1,40 @@
+package com.datn.identity.infrastructure.persistence;
+
+import com.datn.identity.domain.audit.AuditIngestRepository;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+@Repository
+@WorkloadClass(Workload.REPORTING)
+public class JpaAuditIngestRepository implements AuditIngestRepository {
+    private final JdbcClient jdbc;
+
+    public JpaAuditIngestRepository(JdbcClient jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public Set<UUID> findExistingOrgIds(Collection<UUID> orgIds) {
+        return existing("organizations", orgIds);
+    }
+
+    @Override
+    public Set<UUID> findExistingUserIds(Collection<UUID> userIds) {
+        return existing("users", userIds);
+    }
+
+    private Set<UUID> existing(String table, Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbc.sql("SELECT id FROM " + table + " WHERE id = ANY(?)")
+            .param(ids.toArray(new UUID[0]))
+            .query((rs, rowNum) -> (UUID) rs.getObject("id"))
+            .list());
+    }
+}
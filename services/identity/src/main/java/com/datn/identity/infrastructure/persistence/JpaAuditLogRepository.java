@@ -1,11 +1,14 @@
 package com.datn.identity.infrastructure.persistence;
 
+import com.datn.identity.domain.audit.AuditActivityEntry;
+import com.datn.identity.domain.audit.AuditActivitySummary;
 import com.datn.identity.domain.audit.AuditAction;
 import com.datn.identity.domain.audit.AuditLog;
 import com.datn.identity.domain.audit.AuditLogRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.stereotype.Repository;
 
@@ -13,29 +16,38 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 @Repository
 public class JpaAuditLogRepository implements AuditLogRepository {
+    private static final String INSERT_SQL = """
+        INSERT INTO audit_logs (id, org_id, user_id, action, description, metadata, ip_address, user_agent, created_at)
+        VALUES (?, ?, ?, ?, ?, ?::jsonb, ?, ?, ?)
+        ON CONFLICT DO NOTHING
+        """;
+    // Explicit list so reads never ship search_vector; metadata stays jsonb text (see RawJsonMap)
+    private static final String COLUMNS =
+        "id, org_id, user_id, action, description, metadata::text AS metadata, ip_address, user_agent, created_at";
+
     private final JdbcClient jdbc;
+    private final JdbcTemplate jdbcTemplate;
     private final ObjectMapper mapper;
 
-    public JpaAuditLogRepository(JdbcClient jdbc, ObjectMapper mapper) {
+    public JpaAuditLogRepository(JdbcClient jdbc, JdbcTemplate jdbcTemplate, ObjectMapper mapper) {
         this.jdbc = jdbc;
+        this.jdbcTemplate = jdbcTemplate;
         this.mapper = mapper;
     }
 
     @Override
     public void save(AuditLog log) {
-        String sql = """
-            INSERT INTO audit_logs (id, org_id, user_id, action, description, metadata, ip_address, user_agent, created_at)
-            VALUES (?, ?, ?, ?, ?, ?::jsonb, ?, ?, ?)
-            """;
-
-        jdbc.sql(sql)
+        jdbc.sql(INSERT_SQL)
             .param(log.id())
             .param(log.orgId())
             .param(log.userId())
@@ -48,14 +60,40 @@ public class JpaAuditLogRepository implements AuditLogRepository {
             .update();
     }
 
+    /**
+     * One transaction per batch: the rows commit together and the statement-level rollup
+     * trigger sees the whole batch.
+     */
     @Override
+    @Transactional
+    public void saveAll(List<AuditLog> logs) {
+        if (logs.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, logs.stream()
+            .map(log -> new Object[]{
+                log.id(),
+                log.orgId(),
+                log.userId(),
+                log.action().name(),
+                log.description(),
+                serializeMetadata(log.metadata()),
+                log.ipAddress(),
+                log.userAgent(),
+                Timestamp.from(log.createdAt())
+            })
+            .toList());
+    }
+
+    @Override
+    @WorkloadClass(Workload.REPORTING)
     public List<AuditLog> findByOrgId(UUID orgId, int page, int size) {
         String sql = """
-            SELECT * FROM audit_logs
+            SELECT %s FROM audit_logs
             WHERE org_id = ?
             ORDER BY created_at DESC
             LIMIT ? OFFSET ?
-            """;
+            """.formatted(COLUMNS);
 
         return jdbc.sql(sql)
             .param(orgId)
@@ -66,6 +104,7 @@ public class JpaAuditLogRepository implements AuditLogRepository {
     }
 
     @Override
+    @WorkloadClass(Workload.REPORTING)
     public long countByOrgId(UUID orgId) {
         String sql = "SELECT COUNT(*) FROM audit_logs WHERE org_id = ?";
         return jdbc.sql(sql)
@@ -75,6 +114,7 @@ public class JpaAuditLogRepository implements AuditLogRepository {
     }
 
     @Override
+    @WorkloadClass(Workload.REPORTING)
     public List<AuditLog> query(
             UUID orgId,
             UUID userId,
@@ -82,10 +122,11 @@ public class JpaAuditLogRepository implements AuditLogRepository {
             String category,
             Instant from,
             Instant to,
+            String q,
             int page,
             int size) {
 
-        StringBuilder sql = new StringBuilder("SELECT * FROM audit_logs WHERE org_id = ?");
+        StringBuilder sql = new StringBuilder("SELECT " + COLUMNS + " FROM audit_logs WHERE org_id = ?");
         List<Object> params = new ArrayList<>();
         params.add(orgId);
 
@@ -114,7 +155,18 @@ public class JpaAuditLogRepository implements AuditLogRepository {
             params.add(Timestamp.from(to));
         }
 
-        sql.append(" ORDER BY created_at DESC LIMIT ? OFFSET ?");
+        if (q != null) {
+            sql.append(" AND search_vector @@ websearch_to_tsquery('simple', ?)");
+            params.add(q);
+        }
+
+        if (q != null) {
+            sql.append(" ORDER BY ts_rank_cd(search_vector, websearch_to_tsquery('simple', ?)) DESC, created_at DESC");
+            params.add(q);
+        } else {
+            sql.append(" ORDER BY created_at DESC");
+        }
+        sql.append(" LIMIT ? OFFSET ?");
         params.add(size);
         params.add(page * size);
 
@@ -127,13 +179,15 @@ public class JpaAuditLogRepository implements AuditLogRepository {
     }
 
     @Override
+    @WorkloadClass(Workload.REPORTING)
     public long countQuery(
             UUID orgId,
             UUID userId,
             AuditAction action,
             String category,
             Instant from,
-            Instant to) {
+            Instant to,
+            String q) {
 
         StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM audit_logs WHERE org_id = ?");
         List<Object> params = new ArrayList<>();
@@ -164,6 +218,11 @@ public class JpaAuditLogRepository implements AuditLogRepository {
             params.add(Timestamp.from(to));
         }
 
+        if (q != null) {
+            sql.append(" AND search_vector @@ websearch_to_tsquery('simple', ?)");
+            params.add(q);
+        }
+
         var query = jdbc.sql(sql.toString());
         for (Object param : params) {
             query = query.param(param);
@@ -173,6 +232,7 @@ public class JpaAuditLogRepository implements AuditLogRepository {
     }
 
     @Override
+    @WorkloadClass(Workload.REPORTING)
     public long countByOrgIdSince(UUID orgId, Instant since) {
         String sql = "SELECT COUNT(*) FROM audit_logs WHERE org_id = ? AND created_at >= ?";
         return jdbc.sql(sql)
@@ -183,13 +243,14 @@ public class JpaAuditLogRepository implements AuditLogRepository {
     }
 
     @Override
+    @WorkloadClass(Workload.REPORTING)
     public List<AuditLog> findRecentByOrgId(UUID orgId, int limit) {
         String sql = """
-            SELECT * FROM audit_logs
+            SELECT %s FROM audit_logs
             WHERE org_id = ?
             ORDER BY created_at DESC
             LIMIT ?
-            """;
+            """.formatted(COLUMNS);
         return jdbc.sql(sql)
             .param(orgId)
             .param(limit)
@@ -197,6 +258,99 @@ public class JpaAuditLogRepository implements AuditLogRepository {
             .list();
     }
 
+    @Override
+    @WorkloadClass(Workload.REPORTING)
+    public List<AuditActivityEntry> findActivityFeed(
+            UUID orgId,
+            Collection<AuditAction> actions,
+            Instant from,
+            Instant to,
+            int limit) {
+
+        StringBuilder sql = new StringBuilder("""
+            SELECT a.id, a.user_id, a.action, a.description, a.created_at,
+                   u.email AS user_email, u.display_name AS user_display_name
+            FROM audit_logs a
+            LEFT JOIN users u ON u.id = a.user_id
+            WHERE a.org_id = ?""");
+        List<Object> params = new ArrayList<>();
+        params.add(orgId);
+
+        if (actions != null) {
+            sql.append(" AND a.action = ANY(?)");
+            params.add(actions.stream().map(Enum::name).toArray(String[]::new));
+        }
+
+        if (from != null) {
+            sql.append(" AND a.created_at >= ?");
+            params.add(Timestamp.from(from));
+        }
+
+        if (to != null) {
+            sql.append(" AND a.created_at <= ?");
+            params.add(Timestamp.from(to));
+        }
+
+        // Served by idx_audit_logs_org_created; stops after `limit` rows
+        sql.append(" ORDER BY a.created_at DESC LIMIT ?");
+        params.add(limit);
+
+        var query = jdbc.sql(sql.toString());
+        for (Object param : params) {
+            query = query.param(param);
+        }
+
+        return query.query((rs, rowNum) -> new AuditActivityEntry(
+            (UUID) rs.getObject("id"),
+            (UUID) rs.getObject("user_id"),
+            rs.getString("user_email"),
+            rs.getString("user_display_name"),
+            AuditAction.valueOf(rs.getString("action")),
+            rs.getString("description"),
+            rs.getTimestamp("created_at").toInstant()
+        )).list();
+    }
+
+    @Override
+    @WorkloadClass(Workload.REPORTING)
+    public AuditActivitySummary summarizeActivity(UUID orgId, LocalDate today, LocalDate weekStart) {
+        String sql = """
+            SELECT COALESCE(SUM(action_count), 0) AS total,
+                   COALESCE(SUM(action_count) FILTER (WHERE day >= ?), 0) AS today,
+                   COALESCE(SUM(action_count) FILTER (WHERE day >= ?), 0) AS this_week
+            FROM audit_activity_rollup
+            WHERE org_id = ?
+            """;
+        return jdbc.sql(sql)
+            .param(java.sql.Date.valueOf(today))
+            .param(java.sql.Date.valueOf(weekStart))
+            .param(orgId)
+            .query((rs, rowNum) -> new AuditActivitySummary(
+                rs.getLong("total"),
+                rs.getLong("today"),
+                rs.getLong("this_week")
+            ))
+            .single();
+    }
+
+    @Override
+    @WorkloadClass(Workload.BATCH)
+    public int reconcileActivityRollup(LocalDate from, LocalDate to) {
+        String sql = """
+            INSERT INTO audit_activity_rollup AS r (org_id, day, action_count)
+            SELECT org_id, (created_at AT TIME ZONE 'UTC')::date, COUNT(*)
+            FROM audit_logs
+            WHERE created_at >= ? AND created_at < ?
+            GROUP BY 1, 2
+            ON CONFLICT (org_id, day) DO UPDATE SET action_count = EXCLUDED.action_count
+            WHERE r.action_count <> EXCLUDED.action_count
+            """;
+        return jdbc.sql(sql)
+            .param(Timestamp.from(from.atStartOfDay(ZoneOffset.UTC).toInstant()))
+            .param(Timestamp.from(to.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant()))
+            .update();
+    }
+
     private AuditLog mapRow(ResultSet rs, int rowNum) throws SQLException {
         return new AuditLog(
             (UUID) rs.getObject("id"),
@@ -204,7 +358,7 @@ public class JpaAuditLogRepository implements AuditLogRepository {
             (UUID) rs.getObject("user_id"),
             AuditAction.valueOf(rs.getString("action")),
             rs.getString("description"),
-            parseMetadata(rs.getString("metadata")),
+            RawJsonMap.of(rs.getString("metadata"), mapper),
             rs.getString("ip_address"),
             rs.getString("user_agent"),
             rs.getTimestamp("created_at").toInstant()
@@ -212,6 +366,9 @@ public class JpaAuditLogRepository implements AuditLogRepository {
     }
 
     private String serializeMetadata(Map<String, Object> metadata) {
+        if (metadata instanceof RawJsonMap raw) {
+            return raw.json();
+        }
         if (metadata == null || metadata.isEmpty()) {
             return "{}";
         }
@@ -221,15 +378,4 @@ public class JpaAuditLogRepository implements AuditLogRepository {
             return "{}";
         }
     }
-
-    private Map<String, Object> parseMetadata(String json) {
-        if (json == null || json.isBlank()) {
-            return Map.of();
-        }
-        try {
-            return mapper.readValue(json, new TypeReference<Map<String, Object>>() {});
-        } catch (JsonProcessingException e) {
-            return Map.of();
-        }
-    }
 }
@@ -0,0 +1,43 @@
+package com.datn.identity.infrastructure.persistence;
+
+import com.datn.identity.domain.audit.AuditPartitionRepository;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+/**
+ * Thin wrapper over the partition maintenance functions defined in V4__partition_audit_logs.sql.
+ */
+@Repository
+@WorkloadClass(Workload.BATCH)
+public class JpaAuditPartitionRepository implements AuditPartitionRepository {
+    private final JdbcClient jdbc;
+
+    public JpaAuditPartitionRepository(JdbcClient jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public int ensureFuturePartitions(int monthsAhead) {
+        return jdbc.sql("SELECT audit_logs_ensure_partitions(?)")
+            .param(monthsAhead)
+            .query(Integer.class)
+            .single();
+    }
+
+    @Override
+    public int indexClosedPartitions() {
+        return jdbc.sql("SELECT audit_logs_index_closed_partitions()")
+            .query(Integer.class)
+            .single();
+    }
+
+    @Override
+    public int dropPartitionsBefore(LocalDate cutoff) {
+        return jdbc.sql("SELECT audit_logs_drop_partitions_before(?)")
+            .param(java.sql.Date.valueOf(cutoff))
+            .query(Integer.class)
+            .single();
+    }
+}
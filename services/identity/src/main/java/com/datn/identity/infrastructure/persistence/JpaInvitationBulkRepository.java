@@ -0,0 +1,88 @@
+package com.datn.identity.infrastructure.persistence;
+
+import com.datn.identity.domain.invite.Invitation;
+import com.datn.identity.domain.invite.InvitationBulkRepository;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Repository
+public class JpaInvitationBulkRepository implements InvitationBulkRepository {
+    private final JdbcClient jdbc;
+
+    public JpaInvitationBulkRepository(JdbcClient jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public Set<String> findMemberEmails(UUID orgId, Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return Set.of();
+        }
+        String sql = """
+            SELECT lower(u.email::text)
+            FROM users u
+            JOIN memberships m ON m.user_id = u.id
+            WHERE m.org_id = ? AND u.email = ANY(?::citext[])
+            """;
+        return new HashSet<>(jdbc.sql(sql)
+            .param(orgId)
+            .param(emails.toArray(new String[0]))
+            .query(String.class)
+            .list());
+    }
+
+    @Override
+    public List<Invitation> insertOpenSkippingExisting(List<Invitation> invitations) {
+        if (invitations.isEmpty()) {
+            return List.of();
+        }
+
+        int n = invitations.size();
+        UUID[] ids = new UUID[n];
+        UUID[] orgIds = new UUID[n];
+        String[] emails = new String[n];
+        String[] tokens = new String[n];
+        String[] memberTypes = new String[n];
+        String[] roles = new String[n];
+        Timestamp[] createdAt = new Timestamp[n];
+        for (int i = 0; i < n; i++) {
+            var inv = invitations.get(i);
+            ids[i] = inv.id();
+            orgIds[i] = inv.orgId();
+            emails[i] = inv.email();
+            tokens[i] = inv.token();
+            memberTypes[i] = inv.memberType().name();
+            roles[i] = inv.role();
+            createdAt[i] = Timestamp.from(inv.createdAt());
+        }
+
+        // One statement per batch; conflicts with open invitations are skipped, not raised
+        String sql = """
+            INSERT INTO invitations (id, org_id, email, token, member_type, role, created_at)
+            SELECT * FROM unnest(?::uuid[], ?::uuid[], ?::citext[], ?::text[], ?::text[], ?::text[], ?::timestamptz[])
+            ON CONFLICT (org_id, email) WHERE accepted_at IS NULL DO NOTHING
+            RETURNING id
+            """;
+        Set<UUID> inserted = new HashSet<>(jdbc.sql(sql)
+            .param(ids)
+            .param(orgIds)
+            .param(emails)
+            .param(tokens)
+            .param(memberTypes)
+            .param(roles)
+            .param(createdAt)
+            .query(UUID.class)
+            .list());
+
+        return invitations.stream()
+            .filter(inv -> inserted.contains(inv.id()))
+            .toList();
+    }
+}
@@ -0,0 +1,84 @@
+package com.datn.identity.infrastructure.persistence;
+
+import com.datn.identity.domain.org.MemberType;
+import com.datn.identity.domain.org.MembershipBulkRepository;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Repository
+public class JpaMembershipBulkRepository implements MembershipBulkRepository {
+    private final JdbcClient jdbc;
+
+    public JpaMembershipBulkRepository(JdbcClient jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public Set<UUID> lockOwners(UUID orgId) {
+        String sql = """
+            SELECT user_id FROM memberships
+            WHERE org_id = ? AND 'OWNER' = ANY(roles)
+            FOR UPDATE
+            """;
+        return new HashSet<>(jdbc.sql(sql)
+            .param(orgId)
+            .query(UUID.class)
+            .list());
+    }
+
+    @Override
+    public List<UUID> updateRoles(UUID orgId, Collection<UUID> userIds, Set<String> roles) {
+        // Rows already holding exactly these roles are left untouched
+        String sql = """
+            UPDATE memberships SET roles = ?::text[]
+            WHERE org_id = ? AND user_id = ANY(?)
+              AND NOT (roles @> ?::text[] AND roles <@ ?::text[])
+            RETURNING user_id
+            """;
+        String[] roleArray = roles.toArray(new String[0]);
+        return jdbc.sql(sql)
+            .param(roleArray)
+            .param(orgId)
+            .param(userIds.toArray(new UUID[0]))
+            .param(roleArray)
+            .param(roleArray)
+            .query(UUID.class)
+            .list();
+    }
+
+    @Override
+    public List<UUID> updateMemberType(UUID orgId, Collection<UUID> userIds, MemberType memberType) {
+        String sql = """
+            UPDATE memberships SET member_type = ?
+            WHERE org_id = ? AND user_id = ANY(?) AND member_type <> ?
+            RETURNING user_id
+            """;
+        return jdbc.sql(sql)
+            .param(memberType.name())
+            .param(orgId)
+            .param(userIds.toArray(new UUID[0]))
+            .param(memberType.name())
+            .query(UUID.class)
+            .list();
+    }
+
+    @Override
+    public List<UUID> delete(UUID orgId, Collection<UUID> userIds) {
+        String sql = """
+            DELETE FROM memberships
+            WHERE org_id = ? AND user_id = ANY(?)
+            RETURNING user_id
+            """;
+        return jdbc.sql(sql)
+            .param(orgId)
+            .param(userIds.toArray(new UUID[0]))
+            .query(UUID.class)
+            .list();
+    }
+}
@@ -0,0 +1,45 @@
+package com.datn.identity.infrastructure.persistence;
+
+import com.datn.identity.domain.org.OrgMemberProfile;
+import com.datn.identity.domain.org.OrgMemberProfileRepository;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public class JpaOrgMemberProfileRepository implements OrgMemberProfileRepository {
+    private final JdbcClient jdbc;
+
+    public JpaOrgMemberProfileRepository(JdbcClient jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public List<OrgMemberProfile> findMembers(UUID orgId, Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+
+        // Membership check and user projection in one query, driven by the memberships primary key
+        String sql = """
+            SELECT u.id, u.email, u.display_name, u.avatar_asset_id, u.disabled
+            FROM memberships m
+            JOIN users u ON u.id = m.user_id
+            WHERE m.org_id = ? AND m.user_id = ANY(?)
+            """;
+        return jdbc.sql(sql)
+            .param(orgId)
+            .param(userIds.toArray(new UUID[0]))
+            .query((rs, rowNum) -> new OrgMemberProfile(
+                (UUID) rs.getObject("id"),
+                rs.getString("email"),
+                rs.getString("display_name"),
+                rs.getString("avatar_asset_id"),
+                rs.getBoolean("disabled")
+            ))
+            .list();
+    }
+}
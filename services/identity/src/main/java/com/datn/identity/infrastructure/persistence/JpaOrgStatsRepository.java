@@ -0,0 +1,125 @@
+package com.datn.identity.infrastructure.persistence;
+
+import com.datn.identity.domain.org.OrgStats;
+import com.datn.identity.domain.org.OrgStatsRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public class JpaOrgStatsRepository implements OrgStatsRepository {
+    private final JdbcClient jdbc;
+
+    public JpaOrgStatsRepository(JdbcClient jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public Optional<OrgStats> findByOrgId(UUID orgId) {
+        String sql = """
+            SELECT org_id, member_total, owners, admins, members, staff, partners
+            FROM org_stats
+            WHERE org_id = ?
+            """;
+        return jdbc.sql(sql)
+            .param(orgId)
+            .query(this::mapRow)
+            .optional();
+    }
+
+    @Override
+    @WorkloadClass(Workload.BATCH)
+    public List<UUID> findOrgIdsAfter(UUID after, int limit) {
+        // Orgs with counters or members; each branch walks its index and stops at the limit
+        String sql = """
+            SELECT id FROM (
+              (SELECT org_id AS id FROM org_stats WHERE org_id > ? ORDER BY org_id LIMIT ?)
+              UNION
+              (SELECT DISTINCT org_id FROM memberships WHERE org_id > ? ORDER BY org_id LIMIT ?)
+            ) ids
+            ORDER BY id
+            LIMIT ?
+            """;
+        UUID from = after != null ? after : new UUID(0L, 0L);
+        return jdbc.sql(sql)
+            .param(from)
+            .param(limit)
+            .param(from)
+            .param(limit)
+            .param(limit)
+            .query(UUID.class)
+            .list();
+    }
+
+    /**
+     * Recounts orgIds from memberships and rewrites the rows that differ. Each org's
+     * org_stats row is locked first (FOR UPDATE, the row the membership trigger updates),
+     * so a membership write either committed before the recount and is counted, or waits
+     * for this transaction and applies its delta on top. Only these orgs are blocked, and
+     * only for the duration of the batch.
+     */
+    @Override
+    @Transactional
+    @WorkloadClass(Workload.BATCH)
+    public int reconcile(Collection<UUID> orgIds) {
+        if (orgIds.isEmpty()) return 0;
+        UUID[] ids = orgIds.toArray(new UUID[0]);
+
+        // Rows must exist to be locked; waits out a trigger that is creating one
+        jdbc.sql("INSERT INTO org_stats (org_id) SELECT unnest(?::uuid[]) ON CONFLICT (org_id) DO NOTHING")
+            .param(ids)
+            .update();
+        jdbc.sql("SELECT org_id FROM org_stats WHERE org_id = ANY(?) ORDER BY org_id FOR UPDATE")
+            .param(ids)
+            .query(UUID.class)
+            .list();
+
+        // A new statement, so it sees every membership write committed before the locks
+        String recount = """
+            UPDATE org_stats s SET
+              member_total = c.member_total,
+              owners       = c.owners,
+              admins       = c.admins,
+              members      = c.members,
+              staff        = c.staff,
+              partners     = c.partners,
+              updated_at   = now()
+            FROM (
+              SELECT
+                o.org_id,
+                COUNT(m.org_id) AS member_total,
+                COUNT(*) FILTER (WHERE 'OWNER'  = ANY(m.roles)) AS owners,
+                COUNT(*) FILTER (WHERE 'ADMIN'  = ANY(m.roles)) AS admins,
+                COUNT(*) FILTER (WHERE 'MEMBER' = ANY(m.roles)) AS members,
+                COUNT(*) FILTER (WHERE m.member_type = 'STAFF') AS staff,
+                COUNT(*) FILTER (WHERE m.member_type = 'PARTNER') AS partners
+              FROM unnest(?::uuid[]) AS o(org_id)
+              LEFT JOIN memberships m ON m.org_id = o.org_id
+              GROUP BY o.org_id
+            ) c
+            WHERE s.org_id = c.org_id
+              AND (s.member_total, s.owners, s.admins, s.members, s.staff, s.partners)
+                  IS DISTINCT FROM (c.member_total, c.owners, c.admins, c.members, c.staff, c.partners)
+            """;
+        return jdbc.sql(recount).param(ids).update();
+    }
+
+    private OrgStats mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new OrgStats(
+            (UUID) rs.getObject("org_id"),
+            rs.getLong("member_total"),
+            rs.getLong("owners"),
+            rs.getLong("admins"),
+            rs.getLong("members"),
+            rs.getLong("staff"),
+            rs.getLong("partners")
+        );
+    }
+}
@@ -0,0 +1,75 @@
+package com.datn.identity.infrastructure.persistence;
+
+import com.datn.identity.domain.org.UserTenants;
+import com.datn.identity.domain.org.UserTenantsRepository;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public class JpaUserTenantsRepository implements UserTenantsRepository {
+    private final JdbcClient jdbc;
+
+    public JpaUserTenantsRepository(JdbcClient jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public UserTenants findByUser(UUID userId, String email) {
+        // memberships use the (user_id, org_id) primary key; invitations use idx_invitations_open_email
+        String sql = """
+            SELECT 'M' AS kind, o.id AS org_id, o.slug, o.display_name, o.logo_asset_id,
+                   m.roles, m.member_type, NULL AS token, m.created_at AS sort_at
+            FROM memberships m
+            JOIN organizations o ON o.id = m.org_id
+            WHERE m.user_id = ?
+            UNION ALL
+            SELECT 'I', i.org_id, o.slug, o.display_name, NULL,
+                   NULL, i.member_type, i.token, i.created_at
+            FROM invitations i
+            LEFT JOIN organizations o ON o.id = i.org_id
+            WHERE i.email = ?::citext AND i.accepted_at IS NULL
+            ORDER BY sort_at
+            """;
+
+        List<UserTenants.Joined> joined = new ArrayList<>();
+        List<UserTenants.Invited> invites = new ArrayList<>();
+
+        jdbc.sql(sql)
+            .param(userId)
+            .param(email)
+            .query(rs -> {
+                if ("M".equals(rs.getString("kind"))) {
+                    joined.add(new UserTenants.Joined(
+                        (UUID) rs.getObject("org_id"),
+                        rs.getString("slug"),
+                        rs.getString("display_name"),
+                        rs.getString("logo_asset_id"),
+                        toList(rs.getArray("roles")),
+                        rs.getString("member_type")
+                    ));
+                } else {
+                    invites.add(new UserTenants.Invited(
+                        rs.getString("token"),
+                        (UUID) rs.getObject("org_id"),
+                        rs.getString("display_name"),
+                        rs.getString("member_type")
+                    ));
+                }
+            });
+
+        return new UserTenants(joined, invites);
+    }
+
+    private static List<String> toList(Array array) throws java.sql.SQLException {
+        if (array == null) {
+            return List.of();
+        }
+        return Arrays.asList((String[]) array.getArray());
+    }
+}
@@ -0,0 +1,99 @@
+package com.datn.identity.infrastructure.persistence;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Ids of locked organizations, held as an immutable set so a lookup is a lock-free hash
+ * probe (LockedOrgFilter asks on every org-scoped request).
+ *
+ * Loaded at startup and reconciled against organizations.status every reconcile-ms, which
+ * is also how lock changes made on other instances arrive. Saves through the organization
+ * repository apply their own status change once their transaction commits; a snapshot that
+ * was taken while such a change was being applied is discarded (generation check) rather
+ * than allowed to undo it.
+ */
+@Component
+public class LockedOrgRegistry {
+    private static final Logger log = LoggerFactory.getLogger(LockedOrgRegistry.class);
+
+    private final JdbcClient jdbc;
+    private volatile Set<UUID> locked = Set.of();
+    private long generation; // bumped by apply, guarded by this
+
+    public LockedOrgRegistry(JdbcClient jdbc, MeterRegistry registry) {
+        this.jdbc = jdbc;
+        Gauge.builder("org.locked.count", this, r -> r.locked.size()).register(registry);
+    }
+
+    public boolean isLocked(UUID orgId) {
+        return orgId != null && locked.contains(orgId);
+    }
+
+    /** Records orgId's lock state, after commit when called inside a transaction. */
+    public void update(UUID orgId, boolean isLocked) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(orgId, isLocked);
+                }
+            });
+        } else {
+            apply(orgId, isLocked);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${app.org-lock.reconcile-ms:30000}",
+               initialDelayString = "${app.org-lock.reconcile-ms:30000}")
+    public void reconcile() {
+        try {
+            long startedAt;
+            synchronized (this) {
+                startedAt = generation;
+            }
+            // An apply after this point follows a commit the snapshot may have missed
+            Set<UUID> fromDb = Set.copyOf(jdbc.sql("SELECT id FROM organizations WHERE status = 'LOCKED'")
+                .query(UUID.class)
+                .list());
+            synchronized (this) {
+                if (generation != startedAt) {
+                    log.debug("Locked organizations snapshot superseded by a local change; retrying next run");
+                    return;
+                }
+                if (!fromDb.equals(locked)) {
+                    log.info("Locked organizations reconciled: {} -> {}", locked.size(), fromDb.size());
+                }
+                locked = fromDb;
+            }
+        } catch (Exception e) {
+            log.error("Failed to reconcile locked organizations: {}", e.getMessage(), e);
+        }
+    }
+
+    private synchronized void apply(UUID orgId, boolean isLocked) {
+        generation++;
+        if (locked.contains(orgId) == isLocked) return;
+        Set<UUID> next = new HashSet<>(locked);
+        if (isLocked) next.add(orgId); else next.remove(orgId);
+        locked = Set.copyOf(next);
+    }
+}
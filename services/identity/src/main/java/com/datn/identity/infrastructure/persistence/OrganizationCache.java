@@ -0,0 +1,172 @@
+package com.datn.identity.infrastructure.persistence;
+
+import com.datn.identity.domain.org.Organization;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * In-memory cache of Organization aggregates by id, settings already parsed. Entries are
+ * immutable and shared, so a hit costs neither a query nor a JSON parse.
+ *
+ * Consistency:
+ * - Only reads outside read-write transactions use the cache; writes always start from the
+ *   database row and are version-checked (see OrganizationRepositoryImpl).
+ * - save invalidates the id right away and again when the transaction completes; until
+ *   then that transaction reads the org from the database and does not cache it, so
+ *   uncommitted state never becomes visible to other threads.
+ * - identity.organization.* events invalidate the id on the instance that relays them;
+ *   other instances see the change once their entry expires (ttl-ms).
+ * - Each entry carries the row version (organizations.version); a load never replaces a
+ *   newer entry, and a load that overlapped an invalidation is returned but not cached.
+ *
+ * Concurrent misses for one id share a single load (no stampede on an expired hot org).
+ *
+ * Metrics: org.cache.requests (by result: hit, miss), org.cache.size.
+ */
+@Component
+public class OrganizationCache {
+    private static final Object TX_KEY = new Object();
+
+    public record Loaded(Organization organization, long version) {}
+
+    private record Entry(Organization organization, long version, long expiresAt) {}
+
+    private final ConcurrentHashMap<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, CompletableFuture<Optional<Loaded>>> loading = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final long ttlMs;
+    private final int maxEntries;
+    private final Counter hits;
+    private final Counter misses;
+
+    public OrganizationCache(MeterRegistry registry,
+                             @Value("${app.org-cache.ttl-ms:60000}") long ttlMs,
+                             @Value("${app.org-cache.max-entries:10000}") int maxEntries) {
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+        this.hits = Counter.builder("org.cache.requests").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("org.cache.requests").tag("result", "miss").register(registry);
+        Gauge.builder("org.cache.size", entries, ConcurrentHashMap::size).register(registry);
+    }
+
+    public Optional<Organization> get(UUID id, Function<UUID, Optional<Loaded>> loader) {
+        if (ttlMs <= 0 || writtenInCurrentTransaction(id)) {
+            return loader.apply(id).map(Loaded::organization);
+        }
+
+        Entry entry = entries.get(id);
+        if (entry != null && entry.expiresAt() > System.currentTimeMillis()) {
+            hits.increment();
+            return Optional.of(entry.organization());
+        }
+        misses.increment();
+
+        CompletableFuture<Optional<Loaded>> mine = new CompletableFuture<>();
+        CompletableFuture<Optional<Loaded>> running = loading.putIfAbsent(id, mine);
+        if (running != null) {
+            return await(running).map(Loaded::organization);
+        }
+
+        long generation = invalidations.get();
+        try {
+            Optional<Loaded> loaded = loader.apply(id);
+            loaded.ifPresent(l -> store(id, l, generation));
+            mine.complete(loaded);
+            return loaded.map(Loaded::organization);
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(id, mine);
+        }
+    }
+
+    /**
+     * Drops id now and, inside a transaction, again after it completes; until then the
+     * transaction bypasses the cache for id.
+     */
+    public void invalidate(UUID id) {
+        evict(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            writtenIds().add(id);
+        }
+    }
+
+    /** Drops id now (e.g. on an identity.organization.* event). */
+    public void evict(UUID id) {
+        invalidations.incrementAndGet();
+        entries.remove(id);
+    }
+
+    /** Drops id if the cached copy is older than version (seen by a version-only read). */
+    public void evictIfOlder(UUID id, long version) {
+        Entry entry = entries.get(id);
+        if (entry != null && entry.version() < version) {
+            invalidations.incrementAndGet();
+            entries.remove(id, entry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.org-cache.ttl-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(e -> e.expiresAt() <= now);
+    }
+
+    private void store(UUID id, Loaded loaded, long generation) {
+        if (invalidations.get() != generation) return;
+        if (entries.size() >= maxEntries && !entries.containsKey(id)) return;
+        Entry fresh = new Entry(loaded.organization(), loaded.version(), System.currentTimeMillis() + ttlMs);
+        entries.merge(id, fresh, (old, neu) -> neu.version() >= old.version() ? neu : old);
+        // An invalidation that raced the merge wins
+        if (invalidations.get() != generation) entries.remove(id, fresh);
+    }
+
+    private static Optional<Loaded> await(CompletableFuture<Optional<Loaded>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw e;
+        }
+    }
+
+    private static boolean writtenInCurrentTransaction(UUID id) {
+        Object ids = TransactionSynchronizationManager.getResource(TX_KEY);
+        return ids instanceof Set<?> set && set.contains(id);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<UUID> writtenIds() {
+        Object bound = TransactionSynchronizationManager.getResource(TX_KEY);
+        if (bound != null) return (Set<UUID>) bound;
+
+        Set<UUID> ids = new HashSet<>();
+        TransactionSynchronizationManager.bindResource(TX_KEY, ids);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TX_KEY);
+                ids.forEach(OrganizationCache.this::evict);
+            }
+        });
+        return ids;
+    }
+}
@@ -0,0 +1,141 @@
+package com.datn.identity.infrastructure.persistence;
+
+import com.datn.identity.domain.org.OrgSlugRef;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * In-memory cache of slug -> OrgSlugRef for /orgs/resolve, including negative entries for
+ * slugs that do not exist (shorter negative-ttl-ms), so a bot walking subdomains costs one
+ * query per slug per negative-ttl-ms instead of one per request.
+ *
+ * Slugs never change once created, so saving an organization invalidates its slug (now and
+ * again when the transaction completes); that also drops a negative entry for a slug just
+ * created. identity.organization.* events invalidate by org id on the relaying instance;
+ * other instances catch up within ttl-ms. A load that overlapped an invalidation is
+ * returned but not cached.
+ *
+ * Negative entries are capped separately (max-negative-entries) so a scan cannot push out
+ * real organizations.
+ *
+ * Metrics: org.slug.cache.requests (by result: hit, negative_hit, miss), org.slug.cache.size.
+ */
+@Component
+public class OrganizationSlugCache {
+
+    private record Entry(OrgSlugRef ref, long expiresAt) {}
+
+    private final ConcurrentHashMap<String, Entry> found = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> missing = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final long ttlMs;
+    private final long negativeTtlMs;
+    private final int maxEntries;
+    private final int maxNegativeEntries;
+    private final Counter hits;
+    private final Counter negativeHits;
+    private final Counter misses;
+
+    public OrganizationSlugCache(MeterRegistry registry,
+                                 @Value("${app.slug-cache.ttl-ms:300000}") long ttlMs,
+                                 @Value("${app.slug-cache.negative-ttl-ms:30000}") long negativeTtlMs,
+                                 @Value("${app.slug-cache.max-entries:10000}") int maxEntries,
+                                 @Value("${app.slug-cache.max-negative-entries:10000}") int maxNegativeEntries) {
+        this.ttlMs = ttlMs;
+        this.negativeTtlMs = negativeTtlMs;
+        this.maxEntries = maxEntries;
+        this.maxNegativeEntries = maxNegativeEntries;
+        this.hits = Counter.builder("org.slug.cache.requests").tag("result", "hit").register(registry);
+        this.negativeHits = Counter.builder("org.slug.cache.requests").tag("result", "negative_hit").register(registry);
+        this.misses = Counter.builder("org.slug.cache.requests").tag("result", "miss").register(registry);
+        Gauge.builder("org.slug.cache.size", this, c -> c.found.size() + c.missing.size()).register(registry);
+    }
+
+    public Optional<OrgSlugRef> get(String slug, Function<String, Optional<OrgSlugRef>> loader) {
+        if (ttlMs <= 0) return loader.apply(slug);
+
+        String key = key(slug);
+        long now = System.currentTimeMillis();
+        Entry entry = found.get(key);
+        if (entry != null && entry.expiresAt() > now) {
+            hits.increment();
+            return Optional.of(entry.ref());
+        }
+        Long missingUntil = missing.get(key);
+        if (missingUntil != null && missingUntil > now) {
+            negativeHits.increment();
+            return Optional.empty();
+        }
+        misses.increment();
+
+        long generation = invalidations.get();
+        Optional<OrgSlugRef> loaded = loader.apply(slug);
+        store(key, loaded, generation);
+        return loaded;
+    }
+
+    /** Drops slug now and, inside a transaction, again after it completes. */
+    public void invalidate(String slug) {
+        String key = key(slug);
+        evictKey(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictKey(key);
+                }
+            });
+        }
+    }
+
+    /** Drops whatever slug maps to orgId (e.g. on an identity.organization.* event). */
+    public void evict(UUID orgId) {
+        invalidations.incrementAndGet();
+        found.values().removeIf(e -> e.ref().orgId().equals(orgId));
+    }
+
+    @Scheduled(fixedDelayString = "${app.slug-cache.negative-ttl-ms:30000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        found.values().removeIf(e -> e.expiresAt() <= now);
+        missing.values().removeIf(t -> t <= now);
+    }
+
+    private void store(String key, Optional<OrgSlugRef> loaded, long generation) {
+        if (invalidations.get() != generation) return;
+        long now = System.currentTimeMillis();
+        if (loaded.isPresent()) {
+            if (found.size() >= maxEntries && !found.containsKey(key)) return;
+            missing.remove(key);
+            found.put(key, new Entry(loaded.get(), now + ttlMs));
+        } else {
+            if (negativeTtlMs <= 0 || missing.size() >= maxNegativeEntries) return;
+            missing.put(key, now + negativeTtlMs);
+        }
+        // An invalidation that raced the put wins
+        if (invalidations.get() != generation) evictKey(key);
+    }
+
+    private void evictKey(String key) {
+        invalidations.incrementAndGet();
+        found.remove(key);
+        missing.remove(key);
+    }
+
+    private static String key(String slug) {
+        return slug.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,94 @@
+package com.datn.identity.infrastructure.persistence;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only JSON object map backed by the jsonb text as it came out of the database.
+ *
+ * Jackson writes it back verbatim (raw value), so listing and exporting audit entries
+ * never parses and re-serializes metadata. The text is parsed only on first access
+ * through the Map API, i.e. when server-side code actually looks inside.
+ */
+@JsonSerialize(using = RawJsonMap.RawSerializer.class)
+public final class RawJsonMap extends AbstractMap<String, Object> {
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+    private final String json;
+    private final ObjectMapper mapper;
+    private volatile Map<String, Object> parsed;
+
+    private RawJsonMap(String json, ObjectMapper mapper) {
+        this.json = json;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Wraps jsonb text; null, blank or empty objects become an empty map.
+     */
+    public static Map<String, Object> of(String json, ObjectMapper mapper) {
+        if (json == null || json.isBlank() || json.equals("{}")) {
+            return Map.of();
+        }
+        return new RawJsonMap(json, mapper);
+    }
+
+    public String json() {
+        return json;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return parsed().entrySet();
+    }
+
+    @Override
+    public Object get(Object key) {
+        return parsed().get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return parsed().containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return parsed().size();
+    }
+
+    private Map<String, Object> parsed() {
+        Map<String, Object> result = parsed;
+        if (result == null) {
+            try {
+                result = Collections.unmodifiableMap(mapper.readValue(json, MAP_TYPE));
+            } catch (JsonProcessingException e) {
+                result = Map.of();
+            }
+            parsed = result;
+        }
+        return result;
+    }
+
+    public static final class RawSerializer extends StdSerializer<RawJsonMap> {
+        public RawSerializer() {
+            super(RawJsonMap.class);
+        }
+
+        @Override
+        public void serialize(RawJsonMap value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeRawValue(value.json);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.datn.identity.infrastructure.persistence;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread routing hints for {@link ReplicaRoutingDataSource}.
+ *
+ * Threads start on the primary. Within a request the web layer sets the request mode:
+ * REPLICA_ALLOWED lets read-only transactions (Spring's @Transactional(readOnly = true),
+ * which Spring Data finders also use) go to a replica; PRIMARY pins the whole request to
+ * the primary (mutations, and read-your-writes after them). Outside requests, e.g. in
+ * scheduled jobs, only {@link #onReplica} reaches a replica.
+ *
+ * {@link #onReplica} marks a read path explicitly, also outside a transaction; it has no
+ * effect inside a read-write transaction or in PRIMARY mode. The workload class
+ * ({@link WorkloadClass}) picks the pool on whichever target is chosen.
+ */
+public final class ReadRouting {
+    public enum Mode { PRIMARY, REPLICA_ALLOWED }
+
+    private static final ThreadLocal<Mode> MODE = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> EXPLICIT = new ThreadLocal<>();
+    private static final ThreadLocal<Workload> WORKLOAD = new ThreadLocal<>();
+
+    private ReadRouting() {}
+
+    public static <T> T onReplica(Supplier<T> read) {
+        Boolean previous = EXPLICIT.get();
+        EXPLICIT.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            if (previous == null) EXPLICIT.remove(); else EXPLICIT.set(previous);
+        }
+    }
+
+    public static void setRequestMode(Mode mode) {
+        if (mode == null) MODE.remove(); else MODE.set(mode);
+    }
+
+    static Mode requestMode() {
+        return MODE.get();
+    }
+
+    static boolean explicitRead() {
+        return EXPLICIT.get() != null;
+    }
+
+    static Workload workload() {
+        Workload w = WORKLOAD.get();
+        return w != null ? w : Workload.OLTP;
+    }
+
+    /** Sets the workload class for this thread and returns the previous one (may be null). */
+    static Workload enterWorkload(Workload workload) {
+        Workload previous = WORKLOAD.get();
+        WORKLOAD.set(workload);
+        return previous;
+    }
+
+    static void restoreWorkload(Workload previous) {
+        if (previous == null) WORKLOAD.remove(); else WORKLOAD.set(previous);
+    }
+}
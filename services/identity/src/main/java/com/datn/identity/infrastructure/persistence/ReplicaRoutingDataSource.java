@@ -0,0 +1,192 @@
+package com.datn.identity.infrastructure.persistence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends reads to streaming replicas and everything else to the primary.
+ *
+ * A connection goes to a replica when it is taken inside a read-only transaction of a
+ * request that allows replica reads, or inside {@link ReadRouting#onReplica}; see
+ * {@link ReadRouting} for when requests are pinned to the primary. Replicas are used
+ * round-robin, only while their last probe succeeded with a replay lag within max-lag-ms;
+ * with none usable the read falls back to the primary. Must sit behind a
+ * LazyConnectionDataSourceProxy so the decision is made after the transaction has begun.
+ *
+ * Every target has one pool per {@link Workload} class, named &lt;target&gt;-&lt;class&gt;
+ * (primary-oltp, replica-1-reporting, ...); the calling thread's workload class picks the
+ * pool, so per-class pool wait shows up in the hikaricp.connections.acquire metrics.
+ *
+ * Metrics: db.replica.lag (milliseconds, -1 when the probe failed) and db.replica.healthy
+ * by replica, db.routing.reads by target (replica, primary_fallback).
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    static final String PRIMARY = "primary";
+
+    // Caught up with everything received => no lag, even if the primary has been idle
+    private static final String LAG_SQL = """
+        SELECT CASE
+                 WHEN NOT pg_is_in_recovery() THEN 0
+                 WHEN EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming')
+                      AND pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                 ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+               END::bigint
+        """;
+
+    /** One database (primary or replica) and its pool per workload class. */
+    public record Target(String name, Map<Workload, DataSource> pools) {
+        DataSource pool(Workload workload) {
+            DataSource ds = pools.get(workload);
+            return ds != null ? ds : pools.get(Workload.OLTP);
+        }
+    }
+
+    private final Target primary;
+    private final List<Target> replicas;
+    private final long maxLagMs;
+    private final long[] lagMs;
+    private volatile String[] usable = new String[0];
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter replicaReads;
+    private final Counter fallbackReads;
+
+    public ReplicaRoutingDataSource(Target primary, List<Target> replicas, long maxLagMs, MeterRegistry registry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLagMs = maxLagMs;
+        this.lagMs = new long[this.replicas.size()];
+        Arrays.fill(lagMs, -1);
+
+        Map<Object, Object> targets = new HashMap<>();
+        addPools(targets, primary);
+        for (int i = 0; i < this.replicas.size(); i++) {
+            Target r = this.replicas.get(i);
+            addPools(targets, r);
+            int idx = i;
+            Gauge.builder("db.replica.lag", this, ds -> ds.lagMs[idx])
+                .tag("replica", r.name()).baseUnit("milliseconds").register(registry);
+            Gauge.builder("db.replica.healthy", this, ds -> ds.isUsable(r.name()) ? 1 : 0)
+                .tag("replica", r.name()).register(registry);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary.pool(Workload.OLTP));
+        this.replicaReads = Counter.builder("db.routing.reads").tag("target", "replica").register(registry);
+        this.fallbackReads = Counter.builder("db.routing.reads").tag("target", "primary_fallback").register(registry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return key(determineTarget(), ReadRouting.workload());
+    }
+
+    private String determineTarget() {
+        if (replicas.isEmpty()) return PRIMARY;
+        ReadRouting.Mode mode = ReadRouting.requestMode();
+        if (mode == ReadRouting.Mode.PRIMARY) return PRIMARY;
+        boolean readOnlyTx = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        boolean read = ReadRouting.explicitRead()
+            ? readOnlyTx || !TransactionSynchronizationManager.isActualTransactionActive()
+            : readOnlyTx && mode == ReadRouting.Mode.REPLICA_ALLOWED;
+        if (!read) return PRIMARY;
+
+        String[] candidates = usable;
+        if (candidates.length == 0) {
+            fallbackReads.increment();
+            return PRIMARY;
+        }
+        replicaReads.increment();
+        return candidates[Math.floorMod(next.getAndIncrement(), candidates.length)];
+    }
+
+    public static String key(String target, Workload workload) {
+        return target + "-" + workload.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static void addPools(Map<Object, Object> targets, Target target) {
+        for (Workload w : Workload.values()) {
+            targets.put(key(target.name(), w), target.pool(w));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.probe-interval-ms:2000}")
+    public void probe() {
+        if (replicas.isEmpty()) return;
+        String[] ok = new String[replicas.size()];
+        int n = 0;
+        for (int i = 0; i < replicas.size(); i++) {
+            Target r = replicas.get(i);
+            long lag = measureLag(r);
+            boolean wasUsable = isUsable(r.name());
+            lagMs[i] = lag;
+            boolean nowUsable = lag >= 0 && lag <= maxLagMs;
+            if (nowUsable) ok[n++] = r.name();
+            if (wasUsable != nowUsable) {
+                log.warn("Replica {} {} (lag {} ms, max {} ms)", r.name(), nowUsable ? "back in rotation" : "taken out of rotation", lag, maxLagMs);
+            }
+        }
+        usable = Arrays.copyOf(ok, n);
+    }
+
+    /** Closes the pools this class owns: all but the primary OLTP pool, which is a bean. */
+    @Override
+    public void close() {
+        DataSource primaryOltp = primary.pool(Workload.OLTP);
+        for (Target t : concat(primary, replicas)) {
+            for (DataSource ds : t.pools().values()) {
+                if (ds != primaryOltp && ds instanceof AutoCloseable c) {
+                    try {
+                        c.close();
+                    } catch (Exception e) {
+                        log.debug("Failed to close a pool of {}: {}", t.name(), e.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    private static List<Target> concat(Target first, List<Target> rest) {
+        List<Target> all = new ArrayList<>(rest.size() + 1);
+        all.add(first);
+        all.addAll(rest);
+        return all;
+    }
+
+    private boolean isUsable(String name) {
+        for (String s : usable) {
+            if (s.equals(name)) return true;
+        }
+        return false;
+    }
+
+    private static long measureLag(Target r) {
+        try (Connection c = r.pool(Workload.OLTP).getConnection();
+             Statement st = c.createStatement()) {
+            st.setQueryTimeout(2);
+            try (ResultSet rs = st.executeQuery(LAG_SQL)) {
+                return rs.next() ? rs.getLong(1) : -1;
+            }
+        } catch (Exception e) {
+            log.debug("Lag probe of replica {} failed: {}", r.name(), e.getMessage());
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.datn.identity.infrastructure.persistence;
+
+/**
+ * Workload class of a database call, selecting the connection pool (and with it the
+ * statement timeout) it runs on, so heavy queries queue for their own connections instead
+ * of the ones logins need.
+ */
+public enum Workload {
+    /** Default: short, latency-critical statements (login, authz, switch-org, writes). */
+    OLTP,
+    /** Interactive scans and aggregates: audit search, activity feed, dashboard counts. */
+    REPORTING,
+    /** Long-running streams and jobs: exports, archiving, partition maintenance, reconcilers. */
+    BATCH
+}
@@ -0,0 +1,20 @@
+package com.datn.identity.infrastructure.persistence;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated repository method (or every method of the annotated class) as the
+ * given workload class; see {@link Workload}. A method annotation overrides the class's.
+ * Applies to connections taken during the call: inside a transaction that already holds a
+ * connection the call keeps using it.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface WorkloadClass {
+    Workload value();
+}
@@ -0,0 +1,55 @@
+package com.datn.identity.infrastructure.persistence;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * Proxies beans that use {@link WorkloadClass} so the annotated calls run with that
+ * workload class set for {@link ReplicaRoutingDataSource}. Same mechanism as @Async's
+ * post-processor; the advisor goes in front of existing ones (e.g. @Transactional).
+ */
+@Component
+public class WorkloadClassPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    public WorkloadClassPostProcessor() {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(WorkloadClass.class, true))
+            .union(new AnnotationMatchingPointcut(null, WorkloadClass.class, true));
+        this.advisor = new DefaultPointcutAdvisor(pointcut, new Interceptor());
+        setBeforeExistingAdvisors(true);
+        setProxyTargetClass(true);
+    }
+
+    private static final class Interceptor implements MethodInterceptor {
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            WorkloadClass annotation = find(invocation);
+            if (annotation == null) return invocation.proceed();
+            Workload previous = ReadRouting.enterWorkload(annotation.value());
+            try {
+                return invocation.proceed();
+            } finally {
+                ReadRouting.restoreWorkload(previous);
+            }
+        }
+
+        private static WorkloadClass find(MethodInvocation invocation) {
+            Class<?> targetClass = invocation.getThis() != null
+                ? AopUtils.getTargetClass(invocation.getThis())
+                : invocation.getMethod().getDeclaringClass();
+            Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass);
+            WorkloadClass annotation = AnnotatedElementUtils.findMergedAnnotation(method, WorkloadClass.class);
+            return annotation != null
+                ? annotation
+                : AnnotatedElementUtils.findMergedAnnotation(targetClass, WorkloadClass.class);
+        }
+    }
+}
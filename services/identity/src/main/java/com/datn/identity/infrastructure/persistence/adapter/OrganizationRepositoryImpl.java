@@ -1,26 +1,54 @@
 package com.datn.identity.infrastructure.persistence.adapter;
 
+import com.datn.identity.domain.org.OrgSlugRef;
 import com.datn.identity.domain.org.Organization;
 import com.datn.identity.domain.org.OrganizationRepository;
 import com.datn.identity.domain.org.OrganizationSettings;
 import com.datn.identity.domain.org.OrganizationStatus;
+import com.datn.identity.infrastructure.persistence.IdentityLookupFilter;
+import com.datn.identity.infrastructure.persistence.LockedOrgRegistry;
+import com.datn.identity.infrastructure.persistence.OrganizationCache;
+import com.datn.identity.infrastructure.persistence.OrganizationSlugCache;
 import com.datn.identity.infrastructure.persistence.entity.OrganizationEntity;
 import com.datn.identity.infrastructure.persistence.springdata.OrganizationJpaRepo;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * Reads outside a read-write transaction are served from OrganizationCache. Inside one the
+ * org is always read from the database and its row version remembered, and save only
+ * writes if the row still has that version (else OptimisticLockingFailureException), so a
+ * write never rests on a stale copy or overwrites another instance's change.
+ */
 @Repository
 public class OrganizationRepositoryImpl implements OrganizationRepository {
+    private static final Object TX_VERSIONS_KEY = new Object();
+
     private final OrganizationJpaRepo repo;
     private final ObjectMapper objectMapper;
+    private final IdentityLookupFilter lookupFilter;
+    private final OrganizationCache cache;
+    private final LockedOrgRegistry lockedOrgs;
+    private final OrganizationSlugCache slugCache;
 
-    public OrganizationRepositoryImpl(OrganizationJpaRepo repo, ObjectMapper objectMapper) {
+    public OrganizationRepositoryImpl(OrganizationJpaRepo repo, ObjectMapper objectMapper,
+                                      IdentityLookupFilter lookupFilter, OrganizationCache cache,
+                                      LockedOrgRegistry lockedOrgs, OrganizationSlugCache slugCache) {
         this.repo = repo;
         this.objectMapper = objectMapper;
+        this.lookupFilter = lookupFilter;
+        this.cache = cache;
+        this.lockedOrgs = lockedOrgs;
+        this.slugCache = slugCache;
     }
 
     @Override
@@ -30,7 +58,15 @@ public class OrganizationRepositoryImpl implements OrganizationRepository {
 
     @Override
     public Optional<Organization> findById(UUID id) {
-        return repo.findById(id).map(this::toDomain);
+        if (inWriteTransaction()) {
+            return repo.findById(id).map(e -> {
+                // The first read of the transaction is the state its writes are based on
+                loadedVersions().putIfAbsent(id, version(e));
+                return toDomain(e);
+            });
+        }
+        return cache.get(id, key -> repo.findById(key)
+            .map(e -> new OrganizationCache.Loaded(toDomain(e), version(e))));
     }
 
     @Override
@@ -38,9 +74,64 @@ public class OrganizationRepositoryImpl implements OrganizationRepository {
         return repo.findBySlugIgnoreCase(slug).map(this::toDomain);
     }
 
+    @Override
+    public Optional<OrgSlugRef> resolveSlug(String slug) {
+        return slugCache.get(slug, key -> repo.findBySlugIgnoreCase(key)
+            .map(e -> new OrgSlugRef(e.getId(), e.getSlug().value(), e.getDisplayName(),
+                e.getStatus() != null ? e.getStatus() : OrganizationStatus.ACTIVE,
+                version(e))));
+    }
+
+    /** Also drops a cached copy older than the row, so a following findById matches. */
+    @Override
+    public Optional<Long> findVersion(UUID id) {
+        Optional<Long> version = repo.findVersionById(id);
+        version.ifPresent(v -> cache.evictIfOlder(id, v));
+        return version;
+    }
+
     @Override
     public void save(Organization org) {
+        cache.invalidate(org.id());
+        slugCache.invalidate(org.slug().value());
+        Long expected = inWriteTransaction() ? loadedVersions().get(org.id()) : null;
+        if (expected != null) {
+            // Row-locks the org until commit; 0 rows = changed since this transaction read it
+            if (repo.claimVersion(org.id(), expected) == 0) {
+                throw new OptimisticLockingFailureException("Organization " + org.id() + " was modified concurrently");
+            }
+        }
         repo.saveAndFlush(toEntity(org));
+        if (expected != null) {
+            repo.findVersionById(org.id()).ifPresent(v -> loadedVersions().put(org.id(), v));
+        }
+        lookupFilter.addSlug(org.slug().value());
+        lockedOrgs.update(org.id(), org.isLocked());
+    }
+
+    private static long version(OrganizationEntity e) {
+        return e.getVersion() != null ? e.getVersion() : 0L;
+    }
+
+    private static boolean inWriteTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+            && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<UUID, Long> loadedVersions() {
+        Object bound = TransactionSynchronizationManager.getResource(TX_VERSIONS_KEY);
+        if (bound != null) return (Map<UUID, Long>) bound;
+
+        Map<UUID, Long> versions = new HashMap<>();
+        TransactionSynchronizationManager.bindResource(TX_VERSIONS_KEY, versions);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TX_VERSIONS_KEY);
+            }
+        });
+        return versions;
     }
 
     private Organization toDomain(OrganizationEntity e) {
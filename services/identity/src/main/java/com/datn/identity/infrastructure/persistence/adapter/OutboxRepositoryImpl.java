@@ -33,6 +33,19 @@ public class OutboxRepositoryImpl implements OutboxRepository {
         }
     }
 
+    @Override
+    public void appendAll(List<OutboxMessage> msgs) {
+        if (msgs.isEmpty()) return;
+        try {
+            jdbc.batchUpdate(
+                    "INSERT INTO outbox(topic, payload, created_at) VALUES (?, ?::jsonb, now())",
+                    msgs.stream().map(m -> new Object[]{m.topic(), m.payloadJson()}).toList()
+            );
+        } catch (Exception e) {
+            throw new RuntimeException("failed_to_append_outbox", e);
+        }
+    }
+
     @Override
     public List<OutboxMessage> listUnpublished(int limit) {
         return jdbc.query("""
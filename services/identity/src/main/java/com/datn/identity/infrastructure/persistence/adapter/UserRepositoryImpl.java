@@ -2,6 +2,7 @@ package com.datn.identity.infrastructure.persistence.adapter;
 
 import com.datn.identity.domain.user.User;
 import com.datn.identity.domain.user.UserRepository;
+import com.datn.identity.infrastructure.persistence.IdentityLookupFilter;
 import com.datn.identity.infrastructure.persistence.entity.UserEntity;
 import com.datn.identity.infrastructure.persistence.springdata.UserJpaRepo;
 import org.springframework.stereotype.Repository;
@@ -15,9 +16,11 @@ import java.util.stream.Collectors;
 @Repository
 public class UserRepositoryImpl implements UserRepository {
     private final UserJpaRepo repo;
+    private final IdentityLookupFilter lookupFilter;
 
-    public UserRepositoryImpl(UserJpaRepo repo) {
+    public UserRepositoryImpl(UserJpaRepo repo, IdentityLookupFilter lookupFilter) {
         this.repo = repo;
+        this.lookupFilter = lookupFilter;
     }
 
     private static UserEntity toEntity(User u) {
@@ -75,8 +78,14 @@ public class UserRepositoryImpl implements UserRepository {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Optional<Long> findVersion(UUID id) {
+        return repo.findVersionById(id);
+    }
+
     @Override
     public void save(User u) {
         repo.save(toEntity(u));
+        lookupFilter.addEmail(u.email().value());
     }
 }
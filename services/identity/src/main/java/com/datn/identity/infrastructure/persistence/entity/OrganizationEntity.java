@@ -49,6 +49,10 @@ public class OrganizationEntity {
     @Column(name="locked_by")
     private UUID lockedBy;
 
+    // Maintained by trigger (V7); never written from here
+    @Column(name="version", insertable=false, updatable=false)
+    private Long version;
+
     // Getters and Setters
     public UUID getId() { return id; }
     public void setId(UUID id) { this.id = id; }
@@ -80,6 +84,8 @@ public class OrganizationEntity {
     public Instant getLockedAt() { return lockedAt; }
     public void setLockedAt(Instant lockedAt) { this.lockedAt = lockedAt; }
 
+    public Long getVersion() { return version; }
+
     public UUID getLockedBy() { return lockedBy; }
     public void setLockedBy(UUID lockedBy) { this.lockedBy = lockedBy; }
 }
\ No newline at end of file
@@ -2,15 +2,26 @@ package com.datn.identity.infrastructure.persistence.springdata;
 
 import com.datn.identity.infrastructure.persistence.entity.OrganizationEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface OrganizationJpaRepo extends JpaRepository<OrganizationEntity, UUID> {
-    @Query("SELECT CASE WHEN COUNT(o) > 0 THEN true ELSE false END FROM OrganizationEntity o WHERE UPPER(o.slug) = UPPER(:slug)")
+    // slug is CITEXT: comparing as citext is case-insensitive and uses the UNIQUE index
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM organizations WHERE slug = CAST(:slug AS citext))", nativeQuery = true)
     boolean existsBySlug_ValueIgnoreCase(@Param("slug") String slug);
-    
-    @Query("SELECT o FROM OrganizationEntity o WHERE UPPER(o.slug) = UPPER(:slug)")
+
+    @Query(value = "SELECT * FROM organizations WHERE slug = CAST(:slug AS citext)", nativeQuery = true)
     Optional<OrganizationEntity> findBySlugIgnoreCase(@Param("slug") String slug);
+
+    @Query(value = "SELECT version FROM organizations WHERE id = :id", nativeQuery = true)
+    Optional<Long> findVersionById(@Param("id") UUID id);
+
+    // A no-op update (the version trigger ignores it) that takes the row lock only if the
+    // row is still at :version
+    @Modifying
+    @Query(value = "UPDATE organizations SET version = version WHERE id = :id AND version = :version", nativeQuery = true)
+    int claimVersion(@Param("id") UUID id, @Param("version") long version);
 }
\ No newline at end of file
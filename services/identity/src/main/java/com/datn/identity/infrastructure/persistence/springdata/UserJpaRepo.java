@@ -9,9 +9,13 @@ import java.util.Optional;
 import java.util.UUID;
 
 public interface UserJpaRepo extends JpaRepository<UserEntity, UUID> {
-    @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM UserEntity u WHERE UPPER(u.email) = UPPER(:email)")
+    // email is CITEXT: comparing as citext is case-insensitive and uses the UNIQUE index
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM users WHERE email = CAST(:email AS citext))", nativeQuery = true)
     boolean existsByEmailIgnoreCase(@Param("email") String value);
-    
-    @Query("SELECT u FROM UserEntity u WHERE UPPER(u.email) = UPPER(:email)")
+
+    @Query(value = "SELECT * FROM users WHERE email = CAST(:email AS citext)", nativeQuery = true)
     Optional<UserEntity> findByEmailIgnoreCase(@Param("email") String value);
+
+    @Query(value = "SELECT version FROM users WHERE id = :id", nativeQuery = true)
+    Optional<Long> findVersionById(@Param("id") UUID id);
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.datn.identity.infrastructure.security;
+
+import com.datn.identity.domain.user.PasswordHasher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing and verification on a dedicated, CPU-sized pool with a bounded queue.
+ *
+ * At most threads hashes run at once and at most queue-capacity wait behind them; anything
+ * beyond that is rejected immediately with {@link HashingOverloadedException} (503), so a
+ * credential-stuffing burst cannot occupy every request thread and cheap endpoints keep
+ * being served. The caller waits for its own result for at most timeout-ms.
+ *
+ * Metrics: password.hasher.queue.depth, password.hasher.active, password.hasher.rejected,
+ * password.hasher.wait (time queued) and password.hasher.duration (time hashing), by op.
+ */
+public class BoundedPasswordHasher implements PasswordHasher, AutoCloseable {
+    private final PasswordHasher delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+
+    private final Counter rejected;
+    private final Timer hashWait;
+    private final Timer hashDuration;
+    private final Timer verifyWait;
+    private final Timer verifyDuration;
+
+    public BoundedPasswordHasher(PasswordHasher delegate, MeterRegistry registry,
+                                 int threads, int queueCapacity, long timeoutMs) {
+        this.delegate = delegate;
+        this.timeoutMs = timeoutMs;
+
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+            r -> {
+                Thread t = new Thread(r, "password-hasher-" + seq.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        this.executor.prestartAllCoreThreads();
+
+        Gauge.builder("password.hasher.queue.depth", executor, e -> e.getQueue().size()).register(registry);
+        Gauge.builder("password.hasher.active", executor, ThreadPoolExecutor::getActiveCount).register(registry);
+        this.rejected = Counter.builder("password.hasher.rejected").register(registry);
+        this.hashWait = Timer.builder("password.hasher.wait").tag("op", "hash").register(registry);
+        this.hashDuration = Timer.builder("password.hasher.duration").tag("op", "hash").register(registry);
+        this.verifyWait = Timer.builder("password.hasher.wait").tag("op", "verify").register(registry);
+        this.verifyDuration = Timer.builder("password.hasher.duration").tag("op", "verify").register(registry);
+    }
+
+    @Override
+    public String hash(String rawPlusPepper) {
+        return run(() -> delegate.hash(rawPlusPepper), hashWait, hashDuration);
+    }
+
+    @Override
+    public boolean matches(String rawPlusPepper, String hash) {
+        return run(() -> delegate.matches(rawPlusPepper, hash), verifyWait, verifyDuration);
+    }
+
+    @Override
+    public boolean needsRehash(String hash) {
+        return delegate.needsRehash(hash);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> task, Timer wait, Timer duration) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long started = System.nanoTime();
+                wait.record(started - submitted, TimeUnit.NANOSECONDS);
+                try {
+                    return task.call();
+                } finally {
+                    duration.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new HashingOverloadedException();
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new HashingOverloadedException();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new HashingOverloadedException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw new IllegalStateException("password_hashing_failed", e.getCause());
+        }
+    }
+}
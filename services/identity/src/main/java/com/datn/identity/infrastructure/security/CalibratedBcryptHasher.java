@@ -0,0 +1,96 @@
+package com.datn.identity.infrastructure.security;
+
+import com.datn.identity.domain.user.PasswordHasher;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.util.Arrays;
+
+/**
+ * BCrypt whose cost is chosen at startup by benchmarking this machine: the highest cost
+ * in [min-cost, max-cost] whose median hash time stays within the latency budget.
+ *
+ * The algorithm and cost are part of every hash ($2a$NN$...), so hashes made with any
+ * earlier cost keep verifying; {@link #needsRehash} reports hashes below the current cost
+ * so callers can upgrade them after a successful login.
+ *
+ * Metrics: password.hasher.bcrypt.cost and password.hasher.bcrypt.calibrated (median
+ * milliseconds per hash at the chosen cost, i.e. the CPU cost of one login).
+ */
+public class CalibratedBcryptHasher implements PasswordHasher {
+    private static final Logger log = LoggerFactory.getLogger(CalibratedBcryptHasher.class);
+    private static final int SAMPLES = 3;
+
+    private final int cost;
+    private final double calibratedMillis;
+
+    public CalibratedBcryptHasher(MeterRegistry registry, long budgetMs, int minCost, int maxCost) {
+        int lo = Math.max(4, minCost);
+        int hi = Math.min(31, Math.max(lo, maxCost));
+
+        BCrypt.hashpw("calibration-warmup", BCrypt.gensalt(lo));
+        int chosen = lo;
+        double chosenMillis = measure(lo);
+        while (chosen < hi && chosenMillis * 2 <= budgetMs) {
+            double next = measure(chosen + 1);
+            if (next > budgetMs) break;
+            chosen++;
+            chosenMillis = next;
+        }
+        this.cost = chosen;
+        this.calibratedMillis = chosenMillis;
+        log.info("BCrypt cost calibrated to {} ({} ms/hash, budget {} ms, range {}..{})",
+            cost, Math.round(calibratedMillis), budgetMs, lo, hi);
+
+        Gauge.builder("password.hasher.bcrypt.cost", this, h -> h.cost).register(registry);
+        Gauge.builder("password.hasher.bcrypt.calibrated", this, h -> h.calibratedMillis)
+            .baseUnit("milliseconds").register(registry);
+    }
+
+    public int cost() {
+        return cost;
+    }
+
+    @Override
+    public String hash(String rawPlusPepper) {
+        return BCrypt.hashpw(rawPlusPepper, BCrypt.gensalt(cost));
+    }
+
+    @Override
+    public boolean matches(String rawPlusPepper, String hash) {
+        return BCrypt.checkpw(rawPlusPepper, hash);
+    }
+
+    @Override
+    public boolean needsRehash(String hash) {
+        int current = costOf(hash);
+        return current >= 0 && current < cost;
+    }
+
+    /** Cost field of a $2a$/$2b$/$2y$ hash, or -1 if the hash is not bcrypt. */
+    static int costOf(String hash) {
+        if (hash == null || hash.length() < 7 || hash.charAt(0) != '$' || hash.charAt(1) != '2' || hash.charAt(3) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(hash, 4, 6, 10);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static double measure(int cost) {
+        String salt = BCrypt.gensalt(cost);
+        double[] samples = new double[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibration-" + i, salt);
+            samples[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+}
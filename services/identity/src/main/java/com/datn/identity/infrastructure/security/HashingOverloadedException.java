@@ -0,0 +1,11 @@
+package com.datn.identity.infrastructure.security;
+
+/**
+ * Password hashing capacity is exhausted (queue full or result not ready in time).
+ * Mapped to 503 with Retry-After by GlobalExceptionHandler.
+ */
+public class HashingOverloadedException extends RuntimeException {
+    public HashingOverloadedException() {
+        super("hashing_overloaded", null, false, false);
+    }
+}
@@ -0,0 +1,200 @@
+package com.datn.identity.infrastructure.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory sliding-window counters of failed password logins, keyed by normalized email
+ * and by client IP. Checked before the user lookup and bcrypt, so a blocked caller costs
+ * neither a query nor a hash.
+ *
+ * Each key holds a ring of buckets covering the window; every bucket packs its epoch and
+ * count into one long updated by CAS, so recording and reading are lock-free and only
+ * contend on the same key. Buckets older than the window stop counting on their own
+ * (decay); idle keys are evicted by a periodic sweep.
+ *
+ * At most max-keys are tracked per dimension. A new key never goes uncounted: when the map
+ * is full, idle keys are dropped and then the keys with the fewest failures in the window,
+ * so spraying throwaway emails or IPs (one failure each) evicts other throwaway keys and
+ * never a key that is actually being brute-forced.
+ *
+ * Per-instance state: with N replicas an attacker gets up to N times the budget.
+ */
+@Component
+public class LoginThrottle {
+    private static final int COUNT_BITS = 20;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    public enum Dimension { EMAIL, IP }
+
+    private final Limiter byEmail;
+    private final Limiter byIp;
+    private final long bucketMillis;
+    private final int buckets;
+    private final int maxKeys;
+    private final Counter blockedEmail;
+    private final Counter blockedIp;
+
+    public LoginThrottle(MeterRegistry registry,
+                         @Value("${app.security.login-throttle.window-seconds:900}") long windowSeconds,
+                         @Value("${app.security.login-throttle.buckets:15}") int buckets,
+                         @Value("${app.security.login-throttle.email-max-failures:5}") int emailMaxFailures,
+                         @Value("${app.security.login-throttle.ip-max-failures:50}") int ipMaxFailures,
+                         @Value("${app.security.login-throttle.max-keys:100000}") int maxKeys) {
+        this.buckets = Math.max(1, buckets);
+        this.bucketMillis = Math.max(1, Duration.ofSeconds(windowSeconds).toMillis() / this.buckets);
+        this.maxKeys = maxKeys;
+        this.byEmail = new Limiter(emailMaxFailures);
+        this.byIp = new Limiter(ipMaxFailures);
+
+        Gauge.builder("auth.login.throttle.keys", byEmail.windows, ConcurrentHashMap::size)
+            .tag("dimension", "email").register(registry);
+        Gauge.builder("auth.login.throttle.keys", byIp.windows, ConcurrentHashMap::size)
+            .tag("dimension", "ip").register(registry);
+        this.blockedEmail = Counter.builder("auth.login.throttle.blocked").tag("dimension", "email").register(registry);
+        this.blockedIp = Counter.builder("auth.login.throttle.blocked").tag("dimension", "ip").register(registry);
+    }
+
+    /**
+     * The dimension that is over its limit, or null if the attempt may proceed.
+     */
+    public Dimension check(String email, String ip) {
+        long epoch = System.currentTimeMillis() / bucketMillis;
+        if (ip != null && byIp.exceeded(ip, epoch)) {
+            blockedIp.increment();
+            return Dimension.IP;
+        }
+        if (email != null && byEmail.exceeded(normalize(email), epoch)) {
+            blockedEmail.increment();
+            return Dimension.EMAIL;
+        }
+        return null;
+    }
+
+    public void recordFailure(String email, String ip) {
+        long epoch = System.currentTimeMillis() / bucketMillis;
+        if (email != null) byEmail.record(normalize(email), epoch);
+        if (ip != null) byIp.record(ip, epoch);
+    }
+
+    /**
+     * A successful login clears the email's failures; the IP keeps its count.
+     */
+    public void recordSuccess(String email) {
+        if (email != null) byEmail.windows.remove(normalize(email));
+    }
+
+    /**
+     * Seconds until the oldest bucket leaves the window (a conservative Retry-After).
+     */
+    public long retryAfterSeconds() {
+        return Math.max(1, bucketMillis / 1000);
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.login-throttle.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        long epoch = System.currentTimeMillis() / bucketMillis;
+        byEmail.windows.values().removeIf(w -> w.idle(epoch));
+        byIp.windows.values().removeIf(w -> w.idle(epoch));
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private final class Limiter {
+        private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+        private final ReentrantLock evicting = new ReentrantLock();
+        private final int maxFailures;
+
+        Limiter(int maxFailures) {
+            this.maxFailures = maxFailures;
+        }
+
+        boolean exceeded(String key, long epoch) {
+            if (maxFailures <= 0) return false;
+            Window w = windows.get(key);
+            return w != null && w.count(epoch) >= maxFailures;
+        }
+
+        void record(String key, long epoch) {
+            if (maxFailures <= 0) return;
+            Window w = windows.get(key);
+            if (w == null) {
+                if (windows.size() >= maxKeys) makeRoom(epoch);
+                w = windows.computeIfAbsent(key, k -> new Window(buckets));
+            }
+            w.increment(epoch);
+        }
+
+        /**
+         * Frees about 1% of max-keys: idle keys first, then the lowest counts. One thread
+         * evicts at a time; the others insert anyway (a brief overshoot).
+         */
+        private void makeRoom(long epoch) {
+            if (!evicting.tryLock()) return;
+            try {
+                windows.values().removeIf(w -> w.idle(epoch));
+                int excess = windows.size() - maxKeys + Math.max(1, maxKeys / 100);
+                if (excess <= 0) return;
+
+                List<Map.Entry<String, Long>> counts = new ArrayList<>(windows.size());
+                windows.forEach((k, w) -> counts.add(Map.entry(k, w.count(epoch))));
+                counts.sort(Map.Entry.comparingByValue());
+                for (int i = 0; i < excess && i < counts.size(); i++) {
+                    windows.remove(counts.get(i).getKey());
+                }
+            } finally {
+                evicting.unlock();
+            }
+        }
+    }
+
+    /** Ring of (epoch << COUNT_BITS | count) buckets. */
+    private final class Window {
+        private final AtomicLongArray slots;
+
+        Window(int size) {
+            this.slots = new AtomicLongArray(size);
+        }
+
+        void increment(long epoch) {
+            int i = (int) (epoch % slots.length());
+            while (true) {
+                long v = slots.get(i);
+                long next = (v >>> COUNT_BITS) == epoch
+                    ? ((v & COUNT_MASK) == COUNT_MASK ? v : v + 1)
+                    : (epoch << COUNT_BITS) | 1;
+                if (next == v || slots.compareAndSet(i, v, next)) return;
+            }
+        }
+
+        long count(long epoch) {
+            long total = 0;
+            for (int i = 0; i < slots.length(); i++) {
+                long v = slots.get(i);
+                if (epoch - (v >>> COUNT_BITS) < slots.length()) {
+                    total += v & COUNT_MASK;
+                }
+            }
+            return total;
+        }
+
+        boolean idle(long epoch) {
+            return count(epoch) == 0;
+        }
+    }
+}
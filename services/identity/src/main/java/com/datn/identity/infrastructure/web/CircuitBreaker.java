@@ -0,0 +1,100 @@
+package com.datn.identity.infrastructure.web;
+
+/**
+ * Count-based circuit breaker for one outbound target.
+ *
+ * CLOSED: calls pass; the outcomes of the last window-size calls are kept, and once at
+ * least min-calls are recorded with a failure rate at or above the threshold it opens.
+ * OPEN: calls are refused until open-ms has passed, then one probe is let through.
+ * HALF_OPEN: the probe's outcome closes (success) or re-opens (failure) the breaker.
+ */
+public class CircuitBreaker {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final boolean[] outcomes;
+    private final int minCalls;
+    private final double failureRateThreshold;
+    private final long openMillis;
+
+    private State state = State.CLOSED;
+    private int next;
+    private int recorded;
+    private int failures;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    public CircuitBreaker(int windowSize, int minCalls, double failureRateThreshold, long openMillis) {
+        this.outcomes = new boolean[Math.max(1, windowSize)];
+        this.minCalls = Math.max(1, Math.min(minCalls, outcomes.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * Whether a call may proceed now. A true result must be followed by exactly one
+     * {@link #onSuccess()} or {@link #onFailure()}.
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.currentTimeMillis() - openedAt < openMillis) return false;
+                state = State.HALF_OPEN;
+                probeInFlight = true;
+                return true;
+            default:
+                if (probeInFlight) return false;
+                probeInFlight = true;
+                return true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            reset();
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (recorded >= minCalls && (double) failures / recorded >= failureRateThreshold) {
+            open();
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    private void record(boolean failed) {
+        if (recorded == outcomes.length) {
+            if (outcomes[next]) failures--;
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failed;
+        if (failed) failures++;
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.currentTimeMillis();
+        probeInFlight = false;
+    }
+
+    private void reset() {
+        state = State.CLOSED;
+        probeInFlight = false;
+        next = 0;
+        recorded = 0;
+        failures = 0;
+    }
+}
@@ -0,0 +1,41 @@
+package com.datn.identity.infrastructure.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Row-version ETags for conditional GETs. Controllers read the version with a one-column
+ * query, answer 304 when it matches If-None-Match, and only otherwise load and serialize the
+ * resource; the version comes from a trigger-maintained column (organizations.version,
+ * users.version).
+ */
+public final class ETags {
+    /** Per-user resources: clients may keep them but must revalidate before each use. */
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ETags() {}
+
+    /** A strong ETag from its parts, e.g. of(version) -> "7". */
+    public static String of(Object... parts) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) sb.append('.');
+            sb.append(parts[i]);
+        }
+        return sb.append('"').toString();
+    }
+
+    /** Whether If-None-Match lists etag (weak comparison, as RFC 9110 asks for GET) or is *. */
+    public static boolean notModified(HttpServletRequest request, String etag) {
+        String header = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (header == null || header.isBlank()) return false;
+        for (String candidate : header.split(",")) {
+            String c = candidate.trim();
+            if (c.equals("*")) return true;
+            if (c.startsWith("W/")) c = c.substring(2);
+            if (c.equals(etag)) return true;
+        }
+        return false;
+    }
+}
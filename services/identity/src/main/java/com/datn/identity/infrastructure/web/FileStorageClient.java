@@ -6,6 +6,9 @@ import org.springframework.http.*;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Component
@@ -14,9 +17,9 @@ public class FileStorageClient {
     private final String fileStorageBaseUrl;
 
     public FileStorageClient(
-            RestTemplate restTemplate,
+            OutboundHttpClients httpClients,
             @Value("${file-storage.base-url:http://file-storage-api:3000}") String fileStorageBaseUrl) {
-        this.restTemplate = restTemplate;
+        this.restTemplate = httpClients.create("file-storage");
         this.fileStorageBaseUrl = fileStorageBaseUrl;
     }
 
@@ -144,5 +147,60 @@ public class FileStorageClient {
             throw new RuntimeException("Failed to get presigned GET URL: " + e.getMessage(), e);
         }
     }
-}
 
+    public record PresignedGetUrlsRequest(
+            List<String> ids,
+            Integer expirySeconds
+    ) {}
+
+    /**
+     * Resolves many files in one call (file-storage signs them concurrently).
+     * Returns id -> presigned URL; ids that could not be signed are absent from the map.
+     */
+    public Map<String, String> getPresignedGetUrls(Collection<String> fileIds, Integer expirySeconds) {
+        List<String> ids = fileIds.stream()
+                .filter(id -> id != null && !id.isBlank())
+                .distinct()
+                .toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        String url = fileStorageBaseUrl + "/files/presigned-get-urls";
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        PresignedGetUrlsRequest request = new PresignedGetUrlsRequest(ids, expirySeconds);
+        HttpEntity<PresignedGetUrlsRequest> entity = new HttpEntity<>(request, headers);
+
+        try {
+            ResponseEntity<JsonNode> response = restTemplate.exchange(
+                    url,
+                    HttpMethod.POST,
+                    entity,
+                    JsonNode.class
+            );
+
+            JsonNode body = response.getBody();
+            if (body == null) {
+                throw new RuntimeException("File-storage service returned empty response");
+            }
+
+            JsonNode data = body.get("data");
+            if (data == null || data.get("urls") == null) {
+                throw new RuntimeException("File-storage service response missing 'data.urls' field");
+            }
+
+            Map<String, String> result = new HashMap<>();
+            for (JsonNode item : data.get("urls")) {
+                result.put(item.get("id").asText(), item.get("presignedUrl").asText());
+            }
+            return result;
+        } catch (org.springframework.web.client.ResourceAccessException e) {
+            throw new RuntimeException("Cannot connect to file-storage service at " + fileStorageBaseUrl + ". Please check if the service is running and the URL is correct.", e);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to get presigned GET URLs: " + e.getMessage(), e);
+        }
+    }
+}
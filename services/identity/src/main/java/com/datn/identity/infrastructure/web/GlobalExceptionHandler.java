@@ -1,7 +1,10 @@
 package com.datn.identity.infrastructure.web;
 
+import com.datn.identity.infrastructure.security.HashingOverloadedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 
@@ -25,6 +28,40 @@ public class GlobalExceptionHandler {
                 .body(Map.of("error", ex.getMessage()));
     }
 
+    /**
+     * Unique violations that slipped past an existence pre-check (concurrent writes, or a
+     * lookup filter that has not yet seen another instance's insert).
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Map<String, String>> handleDataIntegrity(DataIntegrityViolationException ex) {
+        String msg = String.valueOf(ex.getMostSpecificCause().getMessage());
+        String error = msg.contains("users_email_key") ? "email_exists"
+                : msg.contains("organizations_slug_key") ? "slug_exists"
+                : "conflict";
+        log.warn("Data integrity violation: {}", msg);
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", error));
+    }
+
+    /**
+     * A write based on a row another request changed in the meantime; the client should
+     * reload and retry.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleOptimisticLock(OptimisticLockingFailureException ex) {
+        log.warn("Concurrent modification: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", "concurrent_modification"));
+    }
+
+    @ExceptionHandler(HashingOverloadedException.class)
+    public ResponseEntity<Map<String, String>> handleHashingOverloaded(HashingOverloadedException ex) {
+        log.warn("Password hashing overloaded, shedding request");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", ex.getMessage()));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, String>> handleGeneric(Exception ex) {
         log.error("IllegalArgumentException", ex);
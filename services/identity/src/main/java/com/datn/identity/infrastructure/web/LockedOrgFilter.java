@@ -0,0 +1,79 @@
+package com.datn.identity.infrastructure.web;
+
+import com.datn.identity.infrastructure.persistence.LockedOrgRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Rejects writes to a locked organization (403 org_locked) before they reach a controller,
+ * using LockedOrgRegistry instead of loading the organization.
+ *
+ * Applies to /orgs/{orgId}/** and /internal/orgs/{orgId}/**; /admin/orgs/{orgId}/** stays
+ * open so super admins can unlock. Only mutating methods are rejected, except
+ * POST /internal/orgs/{orgId}/users which is a batch read; with block-reads on, GETs are
+ * rejected too.
+ */
+@Component
+public class LockedOrgFilter extends OncePerRequestFilter {
+    private static final String BODY = "{\"error\":\"org_locked\",\"message\":\"Organization is locked\"}";
+
+    private final LockedOrgRegistry lockedOrgs;
+    private final boolean blockReads;
+
+    public LockedOrgFilter(LockedOrgRegistry lockedOrgs,
+                           @Value("${app.org-lock.block-reads:false}") boolean blockReads) {
+        this.lockedOrgs = lockedOrgs;
+        this.blockReads = blockReads;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain chain) throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        UUID orgId = targetOrg(path);
+        if (orgId != null && lockedOrgs.isLocked(orgId) && blocks(request.getMethod(), path)) {
+            response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write(BODY);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private boolean blocks(String method, String path) {
+        if ("OPTIONS".equals(method)) return false;
+        if ("GET".equals(method) || "HEAD".equals(method)) return blockReads;
+        return !("POST".equals(method) && path.startsWith("/internal/") && path.endsWith("/users"));
+    }
+
+    /** The {orgId} segment of an org-scoped path, or null. */
+    static UUID targetOrg(String path) {
+        String rest;
+        if (path.startsWith("/orgs/")) {
+            rest = path.substring("/orgs/".length());
+        } else if (path.startsWith("/internal/orgs/")) {
+            rest = path.substring("/internal/orgs/".length());
+        } else {
+            return null;
+        }
+        int slash = rest.indexOf('/');
+        String segment = slash < 0 ? rest : rest.substring(0, slash);
+        if (segment.length() != 36) return null;
+        try {
+            return UUID.fromString(segment);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
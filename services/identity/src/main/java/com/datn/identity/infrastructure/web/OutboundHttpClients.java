@@ -0,0 +1,210 @@
+package com.datn.identity.infrastructure.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Builds one RestTemplate per outbound target (file-storage, notification, ...).
+ *
+ * Each target gets its own JDK HttpClient, which keeps connections alive and reuses them
+ * and negotiates HTTP/2 where the server supports it, with connect-timeout-ms on connect and
+ * read-timeout-ms on the response; in virtual-thread mode its internal tasks run on virtual
+ * threads too. In front of it sit a bulkhead (at most max-concurrent calls in flight, the
+ * rest refused immediately) and a {@link CircuitBreaker} (5xx and I/O errors count as
+ * failures); refusals surface as {@link OutboundUnavailableException}.
+ *
+ * Settings are read from app.http.&lt;target&gt;.*; base URLs stay with the clients, so
+ * pointing them at a local stub server is enough to exercise the whole stack.
+ *
+ * Metrics, tagged by target: http.client.outbound (timer, by method and outcome),
+ * http.client.outbound.rejected (by reason), http.client.outbound.in-flight and
+ * http.client.outbound.circuit (0 closed, 1 half-open, 2 open).
+ */
+@Component
+public class OutboundHttpClients {
+    private final Environment env;
+    private final MeterRegistry registry;
+
+    public OutboundHttpClients(Environment env, MeterRegistry registry) {
+        this.env = env;
+        this.registry = registry;
+    }
+
+    public RestTemplate create(String target) {
+        String prefix = "app.http." + target + ".";
+        long connectTimeoutMs = env.getProperty(prefix + "connect-timeout-ms", Long.class, 2000L);
+        long readTimeoutMs = env.getProperty(prefix + "read-timeout-ms", Long.class, 5000L);
+        boolean http2 = env.getProperty(prefix + "http2", Boolean.class, true);
+        int maxConcurrent = env.getProperty(prefix + "max-concurrent", Integer.class, 32);
+        int window = env.getProperty(prefix + "circuit.window", Integer.class, 20);
+        int minCalls = env.getProperty(prefix + "circuit.min-calls", Integer.class, 10);
+        double failureRate = env.getProperty(prefix + "circuit.failure-rate", Double.class, 0.5);
+        long openMs = env.getProperty(prefix + "circuit.open-ms", Long.class, 10_000L);
+
+        HttpClient.Builder builder = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+            .version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+            .followRedirects(HttpClient.Redirect.NEVER);
+        if (env.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            builder.executor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+        HttpClient httpClient = builder.build();
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+
+        RestTemplate restTemplate = new RestTemplate(factory);
+        restTemplate.getInterceptors().add(new Guard(target, maxConcurrent,
+            new CircuitBreaker(window, minCalls, failureRate, openMs)));
+        return restTemplate;
+    }
+
+    /** Bulkhead + circuit breaker + metrics around every call to one target. */
+    private final class Guard implements ClientHttpRequestInterceptor {
+        private final String target;
+        private final int maxConcurrent;
+        private final Semaphore permits;
+        private final CircuitBreaker breaker;
+        private final Counter rejectedBulkhead;
+        private final Counter rejectedCircuit;
+
+        Guard(String target, int maxConcurrent, CircuitBreaker breaker) {
+            this.target = target;
+            this.maxConcurrent = Math.max(1, maxConcurrent);
+            this.permits = new Semaphore(this.maxConcurrent);
+            this.breaker = breaker;
+            this.rejectedBulkhead = Counter.builder("http.client.outbound.rejected")
+                .tag("target", target).tag("reason", "bulkhead").register(registry);
+            this.rejectedCircuit = Counter.builder("http.client.outbound.rejected")
+                .tag("target", target).tag("reason", "circuit_open").register(registry);
+            Gauge.builder("http.client.outbound.in-flight", this, g -> g.maxConcurrent - g.permits.availablePermits())
+                .tag("target", target).register(registry);
+            Gauge.builder("http.client.outbound.circuit", breaker, b -> switch (b.state()) {
+                    case CLOSED -> 0;
+                    case HALF_OPEN -> 1;
+                    case OPEN -> 2;
+                })
+                .tag("target", target).register(registry);
+        }
+
+        @Override
+        public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                            ClientHttpRequestExecution execution) throws IOException {
+            if (!permits.tryAcquire()) {
+                rejectedBulkhead.increment();
+                throw new OutboundUnavailableException(target, "too many concurrent calls");
+            }
+            if (!breaker.tryAcquire()) {
+                permits.release();
+                rejectedCircuit.increment();
+                throw new OutboundUnavailableException(target, "circuit open");
+            }
+
+            long start = System.nanoTime();
+            String method = request.getMethod().name();
+            ClientHttpResponse response;
+            try {
+                response = execution.execute(request, body);
+            } catch (IOException | RuntimeException e) {
+                breaker.onFailure();
+                record(method, "IO_ERROR", start);
+                permits.release();
+                throw e;
+            }
+
+            HttpStatusCode status;
+            try {
+                status = response.getStatusCode();
+            } catch (IOException | RuntimeException e) {
+                breaker.onFailure();
+                record(method, "IO_ERROR", start);
+                permits.release();
+                response.close();
+                throw e;
+            }
+            if (status.is5xxServerError()) {
+                breaker.onFailure();
+            } else {
+                breaker.onSuccess();
+            }
+            String outcome = status.is2xxSuccessful() ? "SUCCESS"
+                : status.is5xxServerError() ? "SERVER_ERROR"
+                : status.is4xxClientError() ? "CLIENT_ERROR" : "OTHER";
+            // The permit is held (and the call timed) until the body has been consumed
+            return new Released(response, () -> {
+                record(method, outcome, start);
+                permits.release();
+            });
+        }
+
+        private void record(String method, String outcome, long start) {
+            Timer.builder("http.client.outbound")
+                .tag("target", target)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .register(registry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /** Response that runs onClose exactly once when RestTemplate closes it. */
+    private static final class Released implements ClientHttpResponse {
+        private final ClientHttpResponse delegate;
+        private final Runnable onClose;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        Released(ClientHttpResponse delegate, Runnable onClose) {
+            this.delegate = delegate;
+            this.onClose = onClose;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (closed.compareAndSet(false, true)) onClose.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.datn.identity.infrastructure.web;
+
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * An outbound call refused locally because the target's circuit is open or its bulkhead is
+ * full. Extends ResourceAccessException so existing "cannot reach service" handling applies.
+ */
+public class OutboundUnavailableException extends ResourceAccessException {
+    public OutboundUnavailableException(String target, String reason) {
+        super(target + " unavailable: " + reason);
+    }
+}
@@ -0,0 +1,73 @@
+package com.datn.identity.infrastructure.web;
+
+import com.datn.identity.infrastructure.persistence.ReadRouting;
+import com.datn.identity.infrastructure.security.SecurityUtils;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sets the replica routing mode of each request (see ReadRouting). Mutating requests (any
+ * method other than GET/HEAD/OPTIONS) run entirely on the primary; reads may use replicas.
+ *
+ * Read-your-writes: after a user's mutating request, that user's reads also stay on the
+ * primary for window-ms, which must cover the replicas' max lag. Runs after Spring
+ * Security so the user is known; anonymous and internal system calls are not tracked.
+ *
+ * Per-instance state, like the login throttle: behind a load balancer without stickiness
+ * another instance may still serve that user a replica read within max-lag-ms.
+ */
+@Component
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    private static final UUID SYSTEM_USER = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    private final long windowMs;
+    private final Map<UUID, Long> lastWrite = new ConcurrentHashMap<>();
+
+    public ReadYourWritesFilter(@Value("${app.datasource.replica.read-your-writes-ms:10000}") long windowMs) {
+        this.windowMs = windowMs;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain chain) throws ServletException, IOException {
+        boolean mutating = !isReadMethod(request.getMethod());
+        UUID userId = SecurityUtils.getCurrentUserId();
+        if (SYSTEM_USER.equals(userId)) userId = null;
+
+        boolean pinned = mutating;
+        if (!pinned && userId != null) {
+            Long last = lastWrite.get(userId);
+            pinned = last != null && System.currentTimeMillis() - last < windowMs;
+        }
+        ReadRouting.setRequestMode(pinned ? ReadRouting.Mode.PRIMARY : ReadRouting.Mode.REPLICA_ALLOWED);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadRouting.setRequestMode(null);
+            if (mutating && userId != null) lastWrite.put(userId, System.currentTimeMillis());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.read-your-writes-ms:10000}")
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - windowMs;
+        lastWrite.values().removeIf(t -> t < cutoff);
+    }
+
+    private static boolean isReadMethod(String method) {
+        return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+    }
+}
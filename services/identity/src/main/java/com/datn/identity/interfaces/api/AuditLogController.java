@@ -7,6 +7,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.Map;
 import java.util.UUID;
 
@@ -33,6 +34,8 @@ public class AuditLogController {
      * - category: Filter by category (USER, ORGANIZATION, MEMBERSHIP, FILE, REPORT)
      * - from: Start date (ISO-8601)
      * - to: End date (ISO-8601)
+     * - q: Full-text search over description and metadata (e.g. an email or keyword);
+     *      results are ranked by relevance
      * - page: Page number (0-indexed)
      * - size: Page size
      */
@@ -44,6 +47,7 @@ public class AuditLogController {
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String from,
             @RequestParam(required = false) String to,
+            @RequestParam(required = false) String q,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
 
@@ -69,12 +73,13 @@ public class AuditLogController {
                 category,
                 fromInstant,
                 toInstant,
+                q,
                 page,
                 size
             );
 
             return ResponseEntity.ok(result);
-        } catch (IllegalArgumentException e) {
+        } catch (IllegalArgumentException | DateTimeParseException e) {
             return ResponseEntity.badRequest().body(Map.of("error", "invalid_parameter", "message", e.getMessage()));
         }
     }
@@ -1,14 +1,20 @@
 package com.datn.identity.interfaces.api;
 
+import com.datn.identity.application.AuditLogService;
 import com.datn.identity.application.TokenService;
+import com.datn.identity.domain.audit.AuditAction;
 import com.datn.identity.domain.org.MembershipRepository;
 import com.datn.identity.domain.user.PasswordHasher;
+import com.datn.identity.domain.user.User;
 import com.datn.identity.domain.user.UserRepository;
+import com.datn.identity.infrastructure.security.HashingOverloadedException;
+import com.datn.identity.infrastructure.security.LoginThrottle;
 import com.datn.identity.infrastructure.security.SecurityUtils;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -24,14 +30,18 @@ public class AuthTokenController {
     private final UserRepository users;
     private final PasswordHasher hasher;
     private final TokenService tokens;
-    @SuppressWarnings("unused")
-    private final MembershipRepository memberships; // giữ lại nếu bạn còn dùng ở nơi khác
+    private final MembershipRepository memberships;
+    private final LoginThrottle throttle;
+    private final AuditLogService auditLogs;
 
     public AuthTokenController(UserRepository users,
                                PasswordHasher hasher,
                                TokenService tokens,
-                               MembershipRepository memberships) {
+                               MembershipRepository memberships,
+                               LoginThrottle throttle,
+                               AuditLogService auditLogs) {
         this.users = users; this.hasher = hasher; this.tokens = tokens; this.memberships = memberships;
+        this.throttle = throttle; this.auditLogs = auditLogs;
     }
 
     // ======= ENV / CONFIG =======
@@ -73,17 +83,31 @@ public class AuthTokenController {
                                            HttpServletResponse resp) {
 
         final var email = req.getEmail().trim().toLowerCase();
+        final var clientIp = httpReq != null ? getClientIP(httpReq) : null;
+
+        // Throttled before any DB lookup or bcrypt work
+        if (throttle.check(email, clientIp) != null) {
+            return ResponseEntity.status(429)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(throttle.retryAfterSeconds()))
+                    .body(Map.of("error", "too_many_attempts"));
+        }
+
         var userOpt = users.findByEmail(email);
 
         if (userOpt.isEmpty()) {
+            throttle.recordFailure(email, clientIp);
             return ResponseEntity.status(401).body(Map.of("error", "invalid_credentials"));
         }
 
         var u = userOpt.get();
         var pepper = System.getenv().getOrDefault("PWD_PEPPER", "");
         if (!hasher.matches(req.getPassword() + pepper, u.passwordHash())) {
+            throttle.recordFailure(email, clientIp);
+            auditFailedLogin(u.id(), email, clientIp, httpReq != null ? httpReq.getHeader("User-Agent") : null);
             return ResponseEntity.status(401).body(Map.of("error", "invalid_credentials"));
         }
+        throttle.recordSuccess(email);
+        upgradeHashIfNeeded(u, req.getPassword() + pepper);
 
         // 1) Issue access token (KHÔNG gắn org/project/roles)
         var accessToken = tokens.issueAccessToken(u.id(), u.email().value(), /*org*/ null, /*roles*/ Set.of());
@@ -93,8 +117,7 @@ public class AuthTokenController {
         if (refreshEnabled) {
             // Extract user-agent and IP from request (if available)
             String userAgent = httpReq != null ? httpReq.getHeader("User-Agent") : null;
-            String ipAddress = httpReq != null ? getClientIP(httpReq) : null;
-            refreshToken = tokens.issueRefreshToken(u.id(), /*org*/ null, userAgent, ipAddress);
+            refreshToken = tokens.issueRefreshToken(u.id(), /*org*/ null, userAgent, clientIp);
         }
 
         // 3) Set HttpOnly cookies
@@ -108,6 +131,30 @@ public class AuthTokenController {
     }
 
     // ======= helpers =======
+
+    /**
+     * Re-hashes with the current calibrated cost when the stored hash is weaker. Best effort:
+     * skipped when the hashing pool is saturated, retried on a later login.
+     */
+    private void upgradeHashIfNeeded(User u, String rawPlusPepper) {
+        if (!hasher.needsRehash(u.passwordHash())) return;
+        try {
+            users.save(u.withPasswordHash(hasher.hash(rawPlusPepper)));
+        } catch (HashingOverloadedException ignore) {
+            // try again next login
+        }
+    }
+
+    /**
+     * audit_logs is per org, so a failed login is recorded in every org the user belongs to.
+     * Entries go through the async audit writer and never delay the response.
+     */
+    private void auditFailedLogin(UUID userId, String email, String ip, String userAgent) {
+        for (var m : memberships.listByUser(userId)) {
+            auditLogs.log(m.orgId(), userId, AuditAction.USER_LOGIN_FAILED, "Failed login attempt",
+                    Map.of("email", email), ip, userAgent);
+        }
+    }
     private static void addCookie(HttpServletResponse response, String name, String value,
                                   int maxAgeSeconds, boolean secure, String domain, boolean httpOnly) {
         // Cookie API không set SameSite → set header thủ công
@@ -1,6 +1,7 @@
 package com.datn.identity.interfaces.api;
 
 import com.datn.identity.domain.org.MembershipRepository;
+import com.datn.identity.infrastructure.persistence.ReadRouting;
 import com.datn.identity.infrastructure.security.SecurityUtils;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -38,7 +39,7 @@ public class AuthzController {
     public ResponseEntity<CheckResult> check(@RequestParam("user_id") UUID userId,
                                              @RequestParam("org_id") UUID orgId,
                                              @RequestParam("permission") String permission) {
-        var mOpt = memberships.find(userId, orgId);
+        var mOpt = ReadRouting.onReplica(() -> memberships.find(userId, orgId));
         if (mOpt.isEmpty()) {
             return ResponseEntity.ok(new CheckResult(userId.toString(), orgId.toString(), permission, false, "not_member"));
         }
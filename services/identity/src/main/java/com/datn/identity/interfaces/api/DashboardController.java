@@ -6,6 +6,8 @@ import com.datn.identity.infrastructure.security.SecurityUtils;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.Map;
 import java.util.UUID;
 
@@ -49,4 +51,35 @@ public class DashboardController {
             return ResponseEntity.status(400).body(Map.of("error", e.getMessage()));
         }
     }
+
+    /**
+     * Get the activity feed for an organization.
+     * GET /orgs/{orgId}/dashboard/activity?category=&from=&to=&limit=
+     */
+    @GetMapping("/activity")
+    public ResponseEntity<?> getActivity(
+            @PathVariable String orgId,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(defaultValue = "20") int limit) {
+        UUID userId = SecurityUtils.getCurrentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "not_authenticated"));
+        }
+
+        UUID orgUuid = UUID.fromString(orgId);
+        if (!orgs.isMember(userId, orgUuid)) {
+            return ResponseEntity.status(403).body(Map.of("error", "forbidden"));
+        }
+
+        try {
+            Instant fromInstant = from != null && !from.isBlank() ? Instant.parse(from) : null;
+            Instant toInstant = to != null && !to.isBlank() ? Instant.parse(to) : null;
+            var items = dashboard.getActivityFeed(orgUuid, category, fromInstant, toInstant, limit);
+            return ResponseEntity.ok(Map.of("items", items));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "invalid_parameter", "message", e.getMessage()));
+        }
+    }
 }
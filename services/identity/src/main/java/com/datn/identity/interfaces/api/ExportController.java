@@ -0,0 +1,98 @@
+package com.datn.identity.interfaces.api;
+
+import com.datn.identity.application.ExportService;
+import com.datn.identity.application.OrganizationApplicationService;
+import com.datn.identity.domain.export.ExportDataset;
+import com.datn.identity.infrastructure.security.SecurityUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * REST Controller for organization data exports.
+ */
+@RestController
+@RequestMapping("/orgs/{orgId}/exports")
+public class ExportController {
+    private final ExportService exports;
+    private final OrganizationApplicationService orgs;
+    private final ObjectMapper mapper;
+
+    public ExportController(ExportService exports, OrganizationApplicationService orgs, ObjectMapper mapper) {
+        this.exports = exports;
+        this.orgs = orgs;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Stream an export.
+     * GET /orgs/{orgId}/exports?dataset=members|invitations|audit_logs&format=csv|ndjson|zip&from=&to=
+     *
+     * dataset may be omitted with format=zip to bundle all datasets; from/to (ISO-8601)
+     * only apply to audit_logs.
+     */
+    @GetMapping
+    public void export(@PathVariable String orgId,
+                       @RequestParam(required = false) String dataset,
+                       @RequestParam(defaultValue = "csv") String format,
+                       @RequestParam(required = false) String from,
+                       @RequestParam(required = false) String to,
+                       HttpServletResponse response) throws IOException {
+        UUID userId = SecurityUtils.getCurrentUserId();
+        if (userId == null) {
+            writeError(response, 401, Map.of("error", "not_authenticated"));
+            return;
+        }
+
+        UUID orgUuid = UUID.fromString(orgId);
+        if (!orgs.isOwnerOrAdmin(userId, orgUuid)) {
+            writeError(response, 403, Map.of("error", "forbidden"));
+            return;
+        }
+
+        ExportDataset exportDataset;
+        ExportService.Format exportFormat;
+        Instant fromInstant;
+        Instant toInstant;
+        try {
+            exportDataset = dataset != null && !dataset.isBlank()
+                ? ExportDataset.valueOf(dataset.trim().toUpperCase(Locale.ROOT))
+                : null;
+            exportFormat = ExportService.Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+            fromInstant = from != null && !from.isBlank() ? Instant.parse(from) : null;
+            toInstant = to != null && !to.isBlank() ? Instant.parse(to) : null;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            writeError(response, 400, Map.of("error", "invalid_parameter", "message", e.getMessage()));
+            return;
+        }
+        if (exportDataset == null && exportFormat != ExportService.Format.ZIP) {
+            writeError(response, 400, Map.of("error", "dataset_required"));
+            return;
+        }
+
+        response.setStatus(200);
+        response.setContentType(switch (exportFormat) {
+            case CSV -> "text/csv; charset=UTF-8";
+            case NDJSON -> "application/x-ndjson";
+            case ZIP -> "application/zip";
+        });
+        response.setHeader("Content-Disposition",
+            "attachment; filename=\"" + ExportService.fileName(exportDataset, exportFormat) + "\"");
+        response.setHeader("Cache-Control", "no-store");
+
+        exports.export(userId, orgUuid, exportDataset, exportFormat, fromInstant, toInstant, response.getOutputStream());
+    }
+
+    private void writeError(HttpServletResponse response, int status, Map<String, Object> body) throws IOException {
+        response.setStatus(status);
+        response.setContentType("application/json");
+        mapper.writeValue(response.getOutputStream(), body);
+    }
+}
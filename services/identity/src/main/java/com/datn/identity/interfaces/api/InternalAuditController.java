@@ -0,0 +1,37 @@
+package com.datn.identity.interfaces.api;
+
+import com.datn.identity.application.AuditIngestService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Internal audit ingestion for other services (service-to-service, no user context).
+ */
+@RestController
+@RequestMapping("/internal/audit-logs")
+public class InternalAuditController {
+    private final AuditIngestService ingest;
+
+    public InternalAuditController(AuditIngestService ingest) {
+        this.ingest = ingest;
+    }
+
+    /**
+     * Bulk-record audit events.
+     * POST /internal/audit-logs  (Content-Type: application/x-ndjson, one event per line)
+     *
+     * Returns {"accepted": n, "rejected": n, "errors": [{"line": n, "error": "..."}]};
+     * errors lists at most the first app.audit.ingest.max-errors rejections.
+     */
+    @PostMapping
+    public ResponseEntity<?> ingest(HttpServletRequest request) throws IOException {
+        var reader = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+        return ResponseEntity.ok(ingest.ingest(reader));
+    }
+}
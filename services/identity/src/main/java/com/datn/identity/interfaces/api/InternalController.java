@@ -3,10 +3,14 @@ package com.datn.identity.interfaces.api;
 import com.datn.identity.application.DashboardService;
 import com.datn.identity.application.InvitationApplicationService;
 import com.datn.identity.application.OrganizationApplicationService;
+import com.datn.identity.infrastructure.web.ETags;
 import com.datn.identity.interfaces.api.dto.Dtos;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -50,6 +54,27 @@ public class InternalController {
         }
     }
 
+    /**
+     * Get the activity feed for an organization (internal use).
+     * GET /internal/orgs/{orgId}/dashboard/activity?category=&from=&to=&limit=
+     */
+    @GetMapping("/orgs/{orgId}/dashboard/activity")
+    public ResponseEntity<?> getDashboardActivity(
+            @PathVariable String orgId,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            Instant fromInstant = from != null && !from.isBlank() ? Instant.parse(from) : null;
+            Instant toInstant = to != null && !to.isBlank() ? Instant.parse(to) : null;
+            var items = dashboard.getActivityFeed(UUID.fromString(orgId), category, fromInstant, toInstant, limit);
+            return ResponseEntity.ok(Map.of("items", items));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "invalid_parameter", "message", e.getMessage()));
+        }
+    }
+
     /**
      * List members for an organization (internal use).
      */
@@ -207,12 +232,22 @@ public class InternalController {
 
     /**
      * Get organization details (internal use).
+     * Conditional: If-None-Match with the current ETag -> 304 without loading the org.
      */
     @GetMapping("/orgs/{orgId}")
-    public ResponseEntity<?> getOrgDetail(@PathVariable String orgId) {
+    public ResponseEntity<?> getOrgDetail(@PathVariable String orgId, HttpServletRequest request) {
         try {
-            var detail = orgs.getOrgDetail(UUID.fromString(orgId));
-            return ResponseEntity.ok(detail);
+            UUID orgUuid = UUID.fromString(orgId);
+            var version = orgs.orgVersion(orgUuid);
+            if (version.isEmpty()) {
+                return ResponseEntity.status(404).body(Map.of("error", "org_not_found"));
+            }
+            String etag = ETags.of(version.get());
+            if (ETags.notModified(request, etag)) {
+                return ResponseEntity.status(304).eTag(etag).cacheControl(ETags.REVALIDATE).build();
+            }
+            var detail = orgs.getOrgDetail(orgUuid);
+            return ResponseEntity.ok().eTag(etag).cacheControl(ETags.REVALIDATE).body(detail);
         } catch (IllegalStateException e) {
             if ("org_not_found".equals(e.getMessage())) {
                 return ResponseEntity.status(404).body(Map.of("error", "org_not_found"));
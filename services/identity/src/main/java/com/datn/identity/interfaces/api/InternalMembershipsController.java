@@ -1,8 +1,8 @@
 package com.datn.identity.interfaces.api;
 
 import com.datn.identity.domain.org.MembershipRepository;
-import com.datn.identity.domain.user.UserRepository;
-import com.datn.identity.infrastructure.security.SecurityUtils;
+import com.datn.identity.domain.org.OrgMemberProfile;
+import com.datn.identity.domain.org.OrgMemberProfileRepository;
 import com.datn.identity.infrastructure.web.FileStorageClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -13,13 +13,15 @@ import java.util.stream.Collectors;
 @RestController
 @RequestMapping("/internal")
 public class InternalMembershipsController {
+    private static final int MAX_BATCH_USERS = 1000;
+
     private final MembershipRepository memberships;
-    private final UserRepository users;
+    private final OrgMemberProfileRepository memberProfiles;
     private final FileStorageClient fileStorageClient;
 
-    public InternalMembershipsController(MembershipRepository memberships, UserRepository users, FileStorageClient fileStorageClient) {
+    public InternalMembershipsController(MembershipRepository memberships, OrgMemberProfileRepository memberProfiles, FileStorageClient fileStorageClient) {
         this.memberships = memberships;
-        this.users = users;
+        this.memberProfiles = memberProfiles;
         this.fileStorageClient = fileStorageClient;
     }
 
@@ -49,73 +51,80 @@ public class InternalMembershipsController {
     @GetMapping("/orgs/{orgId}/users")
     public ResponseEntity<?> getBatchUsersInOrg(@PathVariable("orgId") String orgId,
                                                   @RequestParam("user_ids") String userIds) {
+        return batchUsersInOrg(orgId, Arrays.asList(userIds.split(",")));
+    }
+
+    /**
+     * Same as the GET variant, with IDs in the body so large batches don't hit URL length limits.
+     * POST /internal/orgs/{orgId}/users  {"userIds": ["...", "..."]}
+     */
+    @PostMapping("/orgs/{orgId}/users")
+    public ResponseEntity<?> postBatchUsersInOrg(@PathVariable("orgId") String orgId,
+                                                   @RequestBody BatchUsersReq req) {
+        if (req == null || req.userIds() == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "userIds_required"));
+        }
+        return batchUsersInOrg(orgId, req.userIds());
+    }
+
+    public record BatchUsersReq(List<String> userIds) {}
+
+    private ResponseEntity<?> batchUsersInOrg(String orgId, List<String> rawUserIds) {
         try {
             var oid = UUID.fromString(orgId);
 
             // Parse user IDs
-            var uids = Arrays.stream(userIds.split(","))
+            var uids = rawUserIds.stream()
+                    .filter(Objects::nonNull)
                     .map(String::trim)
                     .filter(s -> !s.isEmpty())
                     .map(UUID::fromString)
-                    .collect(Collectors.toSet());
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
 
             if (uids.isEmpty()) {
                 return ResponseEntity.ok(Collections.emptyList());
             }
+            if (uids.size() > MAX_BATCH_USERS) {
+                return ResponseEntity.badRequest().body(Map.of("error", "too_many_user_ids", "max", MAX_BATCH_USERS));
+            }
 
-            // Get all memberships for this org
-            var orgMemberships = memberships.findByOrg(oid);
-            var orgMemberIds = orgMemberships.stream()
-                    .map(m -> m.userId())
-                    .collect(Collectors.toSet());
-
-            // Filter: only return users that are members of this org
-            var validUserIds = uids.stream()
-                    .filter(orgMemberIds::contains)
-                    .collect(Collectors.toList());
-
-            // Fetch user details
-            var usersList = users.findByIds(validUserIds);
-            var usersMap = usersList.stream()
-                    .collect(Collectors.toMap(
-                            com.datn.identity.domain.user.User::id,
-                            u -> u
-                    ));
+            // Members of this org among the requested IDs, in one query
+            var profiles = memberProfiles.findMembers(oid, uids);
+
+            // All avatars resolved with a single batched call (signed concurrently by file-storage)
+            Map<String, String> avatarUrls = Map.of();
+            var avatarIds = profiles.stream()
+                    .map(OrgMemberProfile::avatarAssetId)
+                    .filter(id -> id != null && !id.isBlank())
+                    .toList();
+            if (!avatarIds.isEmpty()) {
+                try {
+                    avatarUrls = fileStorageClient.getPresignedGetUrls(avatarIds, 3600);
+                } catch (Exception e) {
+                    System.err.println("Failed to get avatar URLs for org " + oid + ": " + e.getMessage());
+                }
+            }
 
             // Build response
-            var result = validUserIds.stream()
-                    .map(userId -> usersMap.get(userId))
-                    .filter(Objects::nonNull)
-                    .map(user -> {
-                        String displayName = user.displayName();
-                        // Fallback to email prefix if displayName is null
-                        if (displayName == null || displayName.isBlank()) {
-                            String email = user.email().value();
-                            displayName = email.contains("@")
-                                    ? email.substring(0, email.indexOf("@"))
-                                    : email;
-                        }
-
-                        // Get avatar URL from file storage if asset ID exists
-                        String avatarUrl = null;
-                        if (user.avatarAssetId() != null && !user.avatarAssetId().isBlank()) {
-                            try {
-                                var presignedResponse = fileStorageClient.getPresignedGetUrl(user.avatarAssetId(), 3600);
-                                avatarUrl = presignedResponse.presignedUrl();
-                            } catch (Exception e) {
-                                System.err.println("Failed to get avatar URL for user " + user.id() + ": " + e.getMessage());
-                            }
-                        }
-
-                        Map<String, Object> userMap = new HashMap<>();
-                        userMap.put("id", user.id().toString());
-                        userMap.put("email", user.email().value());
-                        userMap.put("display_name", displayName);
-                        userMap.put("disabled", user.disabled());
-                        userMap.put("avatar_url", avatarUrl);
-                        return userMap;
-                    })
-                    .collect(Collectors.toList());
+            List<Map<String, Object>> result = new ArrayList<>(profiles.size());
+            for (OrgMemberProfile user : profiles) {
+                String displayName = user.displayName();
+                // Fallback to email prefix if displayName is null
+                if (displayName == null || displayName.isBlank()) {
+                    String email = user.email();
+                    displayName = email.contains("@")
+                            ? email.substring(0, email.indexOf("@"))
+                            : email;
+                }
+
+                Map<String, Object> userMap = new HashMap<>();
+                userMap.put("id", user.userId().toString());
+                userMap.put("email", user.email());
+                userMap.put("display_name", displayName);
+                userMap.put("disabled", user.disabled());
+                userMap.put("avatar_url", user.avatarAssetId() != null ? avatarUrls.get(user.avatarAssetId()) : null);
+                result.add(userMap);
+            }
 
             return ResponseEntity.ok(result);
 
@@ -126,4 +135,3 @@ public class InternalMembershipsController {
         }
     }
 }
-
@@ -1,17 +1,17 @@
 package com.datn.identity.interfaces.api;
 
-import com.datn.identity.application.OrganizationApplicationService;
-import com.datn.identity.application.InvitationApplicationService;
 import com.datn.identity.application.UserApplicationService;
-import com.datn.identity.domain.invite.Invitation;
-import com.datn.identity.domain.org.Organization;
-import com.datn.identity.domain.org.OrganizationRepository;
+import com.datn.identity.domain.org.UserTenants;
+import com.datn.identity.domain.org.UserTenantsRepository;
 import com.datn.identity.infrastructure.security.SecurityUtils;
+import com.datn.identity.infrastructure.web.ETags;
 import com.datn.identity.infrastructure.web.FileStorageClient;
 import com.datn.identity.interfaces.api.dto.Dtos.*;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -21,20 +21,14 @@ import java.util.stream.Collectors;
 @RestController
 @RequestMapping("/me")
 public class MeController {
-    private final OrganizationApplicationService orgs;
-    private final InvitationApplicationService invites;
-    private final OrganizationRepository orgRepo;
+    private final UserTenantsRepository tenants;
     private final FileStorageClient fileStorageClient;
     private final UserApplicationService users;
 
-    public MeController(OrganizationApplicationService orgs,
-                       InvitationApplicationService invites,
-                       OrganizationRepository orgRepo,
+    public MeController(UserTenantsRepository tenants,
                        FileStorageClient fileStorageClient,
                        UserApplicationService users) {
-        this.orgs = orgs;
-        this.invites = invites;
-        this.orgRepo = orgRepo;
+        this.tenants = tenants;
         this.fileStorageClient = fileStorageClient;
         this.users = users;
     }
@@ -43,13 +37,18 @@ public class MeController {
      * Get current user's profile
      */
     @GetMapping("/profile")
-    public ResponseEntity<?> getProfile() {
+    public ResponseEntity<?> getProfile(HttpServletRequest request) {
         UUID userId = SecurityUtils.getCurrentUserId();
         if (userId == null) {
             return ResponseEntity.status(401).body(Map.of("error", "not_authenticated"));
         }
+        String etag = users.profileVersion(userId).map(ETags::of).orElse(null);
+        if (etag != null && ETags.notModified(request, etag)) {
+            return ResponseEntity.status(304).eTag(etag).cacheControl(ETags.REVALIDATE).build();
+        }
         var profile = users.getProfile(userId);
-        return ResponseEntity.ok(profile);
+        if (etag == null) return ResponseEntity.ok(profile);
+        return ResponseEntity.ok().eTag(etag).cacheControl(ETags.REVALIDATE).body(profile);
     }
 
     /**
@@ -134,57 +133,45 @@ public class MeController {
             return ResponseEntity.status(400).body(Map.of("error", "user_email_not_found"));
         }
 
-        // Get user's organizations
-        List<UserOrgRes> userOrgs = orgs.findByUserId(userId);
-        List<Map<String, Object>> joinedOrgs = userOrgs.stream()
-                .map(org -> {
-                    // Get full organization to access logo_asset_id
-                    String logoUrl = null;
-                    try {
-                        Organization fullOrg = orgRepo.findById(UUID.fromString(org.orgId())).orElse(null);
-                        if (fullOrg != null && fullOrg.logoAssetId() != null && !fullOrg.logoAssetId().isBlank()) {
-                            // Get presigned URL for logo
-                            try {
-                                var presignedResponse = fileStorageClient.getPresignedGetUrl(fullOrg.logoAssetId(), 3600);
-                                logoUrl = presignedResponse.presignedUrl();
-                            } catch (Exception e) {
-                                // Log but don't fail the request if logo URL generation fails
-                                System.err.println("Failed to generate logo URL for org " + org.orgId() + ": " + e.getMessage());
-                            }
-                        }
-                    } catch (Exception e) {
-                        // Log but don't fail the request
-                        System.err.println("Error getting logo for org " + org.orgId() + ": " + e.getMessage());
-                    }
-
-                    Map<String, Object> orgMap = new HashMap<>();
-                    orgMap.put("id", org.orgId());
-                    orgMap.put("display_name", org.displayName());
-                    orgMap.put("name", org.displayName()); // Add 'name' field as alias
-                    orgMap.put("slug", org.slug());
-                    orgMap.put("role", org.roles().isEmpty() ? "MEMBER" : org.roles().iterator().next());
-                    orgMap.put("logo_url", logoUrl != null ? logoUrl : "");
-                    return orgMap;
-                })
-                .collect(Collectors.toList());
+        // Memberships, organizations and open invitations in one query
+        UserTenants result = tenants.findByUser(userId, userEmail);
+
+        // All logos resolved with a single batched call to file-storage
+        Map<String, String> logoUrls = Map.of();
+        List<String> logoIds = result.joined().stream()
+                .map(UserTenants.Joined::logoAssetId)
+                .filter(id -> id != null && !id.isBlank())
+                .toList();
+        if (!logoIds.isEmpty()) {
+            try {
+                logoUrls = fileStorageClient.getPresignedGetUrls(logoIds, 3600);
+            } catch (Exception e) {
+                // Log but don't fail the request if logo URL generation fails
+                System.err.println("Failed to generate logo URLs for user " + userId + ": " + e.getMessage());
+            }
+        }
 
-        // Get user's pending invitations
-        List<Invitation> pendingInvites = invites.findPendingByEmail(userEmail);
-        List<Map<String, Object>> invitesList = pendingInvites.stream()
-                .map(invite -> {
-                    // Get organization name for the invitation
-                    String orgName = orgRepo.findById(invite.orgId())
-                            .map(org -> org.displayName())
-                            .orElse("Unknown Organization");
-
-                    Map<String, Object> inviteMap = Map.of(
-                            "token", (Object) invite.token(),
-                            "org_name", (Object) orgName,
-                            "inviter_email", (Object) "", // TODO: Get inviter email if needed
-                            "member_type", (Object) invite.memberType().name()
-                    );
-                    return inviteMap;
-                })
+        List<Map<String, Object>> joinedOrgs = new ArrayList<>();
+        for (UserTenants.Joined org : result.joined()) {
+            String logoUrl = org.logoAssetId() != null ? logoUrls.get(org.logoAssetId()) : null;
+
+            Map<String, Object> orgMap = new HashMap<>();
+            orgMap.put("id", org.orgId().toString());
+            orgMap.put("display_name", org.displayName());
+            orgMap.put("name", org.displayName()); // Add 'name' field as alias
+            orgMap.put("slug", org.slug());
+            orgMap.put("role", primaryRole(org.roles()));
+            orgMap.put("logo_url", logoUrl != null ? logoUrl : "");
+            joinedOrgs.add(orgMap);
+        }
+
+        List<Map<String, Object>> invitesList = result.invites().stream()
+                .map(invite -> Map.<String, Object>of(
+                        "token", invite.token(),
+                        "org_name", invite.orgName() != null ? invite.orgName() : "Unknown Organization",
+                        "inviter_email", "", // TODO: Get inviter email if needed
+                        "member_type", invite.memberType()
+                ))
                 .collect(Collectors.toList());
 
         return ResponseEntity.ok(Map.of(
@@ -192,4 +179,10 @@ public class MeController {
                 "invites", invitesList
         ));
     }
+
+    private static String primaryRole(List<String> roles) {
+        if (roles.contains("OWNER")) return "OWNER";
+        if (roles.contains("ADMIN")) return "ADMIN";
+        return roles.isEmpty() ? "MEMBER" : roles.get(0);
+    }
 }
@@ -1,20 +1,35 @@
 package com.datn.identity.interfaces.api;
 
 import com.datn.identity.application.InvitationApplicationService;
+import com.datn.identity.application.InvitationImportService;
 import com.datn.identity.application.OrganizationApplicationService;
 import com.datn.identity.domain.org.MemberType;
 import com.datn.identity.infrastructure.security.SecurityUtils;
+import com.datn.identity.infrastructure.web.ETags;
 import com.datn.identity.infrastructure.web.FileStorageClient;
 import com.datn.identity.interfaces.api.dto.Dtos.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.Locale;
 
 @RestController
@@ -23,12 +38,26 @@ import java.util.Locale;
 public class OrganizationsController {
     private final OrganizationApplicationService orgs;
     private final InvitationApplicationService invites;
+    private final InvitationImportService invitationImport;
     private final FileStorageClient fileStorageClient;
-
-    public OrganizationsController(OrganizationApplicationService orgs, InvitationApplicationService invites, FileStorageClient fileStorageClient) {
+    private final ObjectMapper mapper;
+    private final CacheControl resolveCache;
+    private final CacheControl resolveNotFoundCache;
+
+    public OrganizationsController(OrganizationApplicationService orgs,
+                                   InvitationApplicationService invites,
+                                   InvitationImportService invitationImport,
+                                   FileStorageClient fileStorageClient,
+                                   ObjectMapper mapper,
+                                   @Value("${app.slug-cache.client-max-age-s:60}") long resolveMaxAgeS,
+                                   @Value("${app.slug-cache.negative-ttl-ms:30000}") long negativeTtlMs) {
         this.orgs = orgs;
         this.invites = invites;
+        this.invitationImport = invitationImport;
         this.fileStorageClient = fileStorageClient;
+        this.mapper = mapper;
+        this.resolveCache = CacheControl.maxAge(resolveMaxAgeS, TimeUnit.SECONDS).cachePrivate();
+        this.resolveNotFoundCache = CacheControl.maxAge(negativeTtlMs, TimeUnit.MILLISECONDS).cachePublic();
     }
 
     @PostMapping
@@ -119,6 +148,30 @@ public class OrganizationsController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Bulk member operation: change role, change member type, or remove many members at once.
+     * POST /orgs/{orgId}/members/bulk
+     */
+    @PostMapping("/{orgId}/members/bulk")
+    public ResponseEntity<?> bulkUpdateMembers(@PathVariable String orgId,
+                                               @Valid @RequestBody BulkMembersReq req) {
+        UUID actorUserId = SecurityUtils.getCurrentUserId();
+        if (actorUserId == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "not_authenticated"));
+        }
+
+        UUID orgUuid = UUID.fromString(orgId);
+        if (!orgs.isOwnerOrAdmin(actorUserId, orgUuid)) {
+            return ResponseEntity.status(403).body(Map.of("error", "forbidden"));
+        }
+
+        try {
+            return ResponseEntity.ok(orgs.bulkUpdateMembers(actorUserId, orgUuid, req));
+        } catch (SecurityException e) {
+            return ResponseEntity.status(403).body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @DeleteMapping("/{orgId}/members/{userId}")
     public ResponseEntity<Void> removeMember(@PathVariable String orgId,
                                              @PathVariable String userId) {
@@ -161,6 +214,84 @@ public class OrganizationsController {
         return ResponseEntity.ok(Map.of("invitations", invitationList));
     }
 
+    /**
+     * Bulk invitation import (UC11).
+     * POST /orgs/{orgId}/invitations/import?format=csv|ndjson
+     *
+     * The body is read line by line and rows are committed in chunks; the response is
+     * NDJSON with one result per row ({"row","email","status","error"}), flushed after
+     * each chunk, followed by a final {"summary": {...}} line.
+     * Format defaults from Content-Type (text/csv or application/x-ndjson).
+     */
+    @PostMapping("/{orgId}/invitations/import")
+    public void importInvitations(@PathVariable String orgId,
+                                  @RequestParam(required = false) String format,
+                                  HttpServletRequest request,
+                                  HttpServletResponse response) throws IOException {
+        UUID userId = SecurityUtils.getCurrentUserId();
+        if (userId == null) {
+            writeError(response, 401, Map.of("error", "not_authenticated"));
+            return;
+        }
+
+        UUID orgUuid = UUID.fromString(orgId);
+        if (!orgs.isOwnerOrAdmin(userId, orgUuid)) {
+            writeError(response, 403, Map.of("error", "forbidden"));
+            return;
+        }
+
+        InvitationImportService.Format importFormat = resolveImportFormat(format, request.getContentType());
+        if (importFormat == null) {
+            writeError(response, 415, Map.of("error", "unsupported_format"));
+            return;
+        }
+
+        response.setStatus(200);
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        var reader = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+        var writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+
+        var summary = invitationImport.importInvitations(userId, orgUuid, reader, importFormat,
+                new InvitationImportService.RowSink() {
+                    @Override
+                    public void accept(InvitationImportService.RowResult result) throws IOException {
+                        Map<String, Object> line = new LinkedHashMap<>();
+                        line.put("row", result.row());
+                        line.put("email", result.email());
+                        line.put("status", result.status());
+                        if (result.error() != null) line.put("error", result.error());
+                        writer.write(mapper.writeValueAsString(line));
+                        writer.newLine();
+                    }
+
+                    @Override
+                    public void chunkDone() throws IOException {
+                        writer.flush();
+                    }
+                });
+
+        writer.write(mapper.writeValueAsString(Map.of("summary", summary)));
+        writer.newLine();
+        writer.flush();
+    }
+
+    private static InvitationImportService.Format resolveImportFormat(String format, String contentType) {
+        String f = format != null && !format.isBlank() ? format : contentType;
+        if (f == null) return null;
+        f = f.toLowerCase(Locale.ROOT);
+        if (f.contains("csv")) return InvitationImportService.Format.CSV;
+        if (f.contains("ndjson") || f.contains("jsonl") || f.contains("json-seq")) return InvitationImportService.Format.NDJSON;
+        return null;
+    }
+
+    private void writeError(HttpServletResponse response, int status, Map<String, Object> body) throws IOException {
+        response.setStatus(status);
+        response.setContentType("application/json");
+        mapper.writeValue(response.getOutputStream(), body);
+    }
+
     /**
      * Cancel a pending invitation (UC11).
      */
@@ -194,12 +325,17 @@ public class OrganizationsController {
         }
     }
 
+    /**
+     * Slug -> org for subdomain routing. 404s are the same for every caller and may be cached
+     * by the edge; a resolved org is per user (membership), so private with an ETag on the
+     * org's row version (If-None-Match -> 304).
+     */
     @GetMapping("/resolve")
     public ResponseEntity<?> resolve(@RequestParam("slug") String slug) {
         var n = normalizeSlug(slug);
-        var opt = orgs.findBySlug(n);
+        var opt = orgs.resolveSlug(n);
         if (opt.isEmpty()) {
-            return ResponseEntity.status(404).body(Map.of("error", "org_not_found"));
+            return ResponseEntity.status(404).cacheControl(resolveNotFoundCache).body(Map.of("error", "org_not_found"));
         }
 
         // Require authentication and membership
@@ -209,14 +345,17 @@ public class OrganizationsController {
         }
 
         var o = opt.get();
-        if (!orgs.isMember(uid, o.id())) {
+        if (!orgs.isMember(uid, o.orgId())) {
             return ResponseEntity.status(403).body(Map.of("error", "forbidden"));
         }
-        return ResponseEntity.ok(Map.of(
-                "org_id", o.id().toString(),
-                "slug", o.slug().toString(),
-                "display_name", o.displayName()
-        ));
+        return ResponseEntity.ok()
+                .eTag(o.orgId() + "." + o.version())
+                .cacheControl(resolveCache)
+                .body(Map.of(
+                        "org_id", o.orgId().toString(),
+                        "slug", o.slug(),
+                        "display_name", o.displayName()
+                ));
     }
 
     @GetMapping("/availability")
@@ -225,7 +364,7 @@ public class OrganizationsController {
         if (n.isBlank()) {
             return ResponseEntity.ok(Map.of("available", false));
         }
-        var exists = orgs.findBySlug(n).isPresent();
+        var exists = orgs.slugExists(n);
         return ResponseEntity.ok(Map.of("available", !exists));
     }
 
@@ -339,19 +478,29 @@ public class OrganizationsController {
      * Get organization details (UC07).
      */
     @GetMapping("/{orgId}")
-    public ResponseEntity<?> getOrgDetail(@PathVariable String orgId) {
+    public ResponseEntity<?> getOrgDetail(@PathVariable String orgId, HttpServletRequest request) {
         UUID userId = SecurityUtils.getCurrentUserId();
         if (userId == null) {
             return ResponseEntity.status(401).body(Map.of("error", "not_authenticated"));
         }
 
-        if (!orgs.isMember(userId, UUID.fromString(orgId))) {
+        UUID orgUuid = UUID.fromString(orgId);
+        if (!orgs.isMember(userId, orgUuid)) {
             return ResponseEntity.status(403).body(Map.of("error", "forbidden"));
         }
 
+        var version = orgs.orgVersion(orgUuid);
+        if (version.isEmpty()) {
+            return ResponseEntity.status(404).body(Map.of("error", "org_not_found"));
+        }
+        String etag = ETags.of(version.get());
+        if (ETags.notModified(request, etag)) {
+            return ResponseEntity.status(304).eTag(etag).cacheControl(ETags.REVALIDATE).build();
+        }
+
         try {
-            var detail = orgs.getOrgDetail(UUID.fromString(orgId));
-            return ResponseEntity.ok(detail);
+            var detail = orgs.getOrgDetail(orgUuid);
+            return ResponseEntity.ok().eTag(etag).cacheControl(ETags.REVALIDATE).body(detail);
         } catch (IllegalStateException e) {
             if ("org_not_found".equals(e.getMessage())) {
                 return ResponseEntity.status(404).body(Map.of("error", "org_not_found"));
@@ -398,19 +547,29 @@ public class OrganizationsController {
      * Get organization settings (UC07).
      */
     @GetMapping("/{orgId}/settings")
-    public ResponseEntity<?> getOrgSettings(@PathVariable String orgId) {
+    public ResponseEntity<?> getOrgSettings(@PathVariable String orgId, HttpServletRequest request) {
         UUID userId = SecurityUtils.getCurrentUserId();
         if (userId == null) {
             return ResponseEntity.status(401).body(Map.of("error", "not_authenticated"));
         }
 
-        if (!orgs.isMember(userId, UUID.fromString(orgId))) {
+        UUID orgUuid = UUID.fromString(orgId);
+        if (!orgs.isMember(userId, orgUuid)) {
             return ResponseEntity.status(403).body(Map.of("error", "forbidden"));
         }
 
+        var version = orgs.orgVersion(orgUuid);
+        if (version.isEmpty()) {
+            return ResponseEntity.status(404).body(Map.of("error", "org_not_found"));
+        }
+        String etag = ETags.of(version.get());
+        if (ETags.notModified(request, etag)) {
+            return ResponseEntity.status(304).eTag(etag).cacheControl(ETags.REVALIDATE).build();
+        }
+
         try {
-            var settings = orgs.getOrgSettings(UUID.fromString(orgId));
-            return ResponseEntity.ok(settings);
+            var settings = orgs.getOrgSettings(orgUuid);
+            return ResponseEntity.ok().eTag(etag).cacheControl(ETags.REVALIDATE).body(settings);
         } catch (IllegalStateException e) {
             if ("org_not_found".equals(e.getMessage())) {
                 return ResponseEntity.status(404).body(Map.of("error", "org_not_found"));
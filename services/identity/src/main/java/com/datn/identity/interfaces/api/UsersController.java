@@ -2,7 +2,9 @@ package com.datn.identity.interfaces.api;
 
 import com.datn.identity.application.UserApplicationService;
 import com.datn.identity.infrastructure.security.SecurityUtils;
+import com.datn.identity.infrastructure.web.ETags;
 import com.datn.identity.interfaces.api.dto.Dtos.*;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -26,13 +28,18 @@ public class UsersController {
      * Get current user's profile (UC05).
      */
     @GetMapping("/me")
-    public ResponseEntity<ProfileRes> getMyProfile() {
+    public ResponseEntity<ProfileRes> getMyProfile(HttpServletRequest request) {
         UUID userId = SecurityUtils.getCurrentUserId();
         if (userId == null) {
             return ResponseEntity.status(401).build();
         }
+        String etag = users.profileVersion(userId).map(ETags::of).orElse(null);
+        if (etag != null && ETags.notModified(request, etag)) {
+            return ResponseEntity.status(304).eTag(etag).cacheControl(ETags.REVALIDATE).build();
+        }
         var profile = users.getProfile(userId);
-        return ResponseEntity.ok(profile);
+        if (etag == null) return ResponseEntity.ok(profile);
+        return ResponseEntity.ok().eTag(etag).cacheControl(ETags.REVALIDATE).body(profile);
     }
 
     /**
@@ -17,6 +17,9 @@ public class Dtos {
     public record CreateOrgReq(String ownerUserId, @NotBlank String slug, @NotBlank String name) {}
     public record InviteMemberReq(@Email String email, String role, List<String> project_ids) {}
     public record UpdateMemberRolesReq(@NotBlank String userId, Set<String> roles) {}
+    // operation: SET_ROLE (uses role), SET_MEMBER_TYPE (uses memberType), REMOVE
+    public record BulkMembersReq(@NotBlank String operation, List<String> userIds, String role, String memberType) {}
+    public record BulkMembersRes(String operation, int requested, int affected, List<String> affectedUserIds, List<String> skippedUserIds) {}
     public record UserOrgRes(String orgId, String slug, String displayName, Set<String> roles, String memberType) {}
     public record MemberInfo(
         String id,
@@ -204,6 +207,7 @@ public class Dtos {
         String id,
         String userId,
         String userEmail,
+        String userDisplayName,
         String action,
         String description,
         String createdAt
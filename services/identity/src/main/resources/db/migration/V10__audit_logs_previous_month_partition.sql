@@ -0,0 +1,24 @@
+-- Identity Service: keep the previous month's audit_logs partition in place
+-- Ingest accepts createdAt up to max-age back, which early in a month falls in the previous
+-- one; on a fresh database that month had no partition and the insert failed.
+-- Partitions keep the (org_id, created_at DESC) btree inherited from idx_audit_logs_org_created
+-- (org-scoped pages merge-append the partitions' index scans and stop at the limit); closed
+-- months add a BRIN index on created_at alongside it.
+
+-- Ensure partitions exist from the previous month through p_months_ahead months ahead.
+CREATE OR REPLACE FUNCTION audit_logs_ensure_partitions(p_months_ahead INT) RETURNS int AS $$
+DECLARE
+  v_created INT := 0;
+  v_month   DATE := date_trunc('month', (now() AT TIME ZONE 'UTC'))::date;
+BEGIN
+  FOR i IN -1..p_months_ahead LOOP
+    IF audit_logs_ensure_partition((v_month + make_interval(months => i))::date) THEN
+      v_created := v_created + 1;
+    END IF;
+  END LOOP;
+  RETURN v_created;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT audit_logs_ensure_partitions(3);
+SELECT audit_logs_index_closed_partitions();
@@ -0,0 +1,4 @@
+-- Identity Service: index memberships by org_id
+-- The primary key (user_id, org_id) cannot serve org-scoped lookups; OrgStatsReconciler
+-- recounts org_stats per batch of orgs and walks the org ids in order.
+CREATE INDEX IF NOT EXISTS idx_memberships_org_id ON memberships(org_id);
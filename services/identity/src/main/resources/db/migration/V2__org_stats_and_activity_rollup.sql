@@ -0,0 +1,133 @@
+-- Identity Service: incrementally maintained dashboard counters
+-- org_stats              : member counts per org (by role and member type)
+-- audit_activity_rollup  : audit entries per org per UTC day
+-- Both are kept in sync by triggers in the same transaction as the source write;
+-- OrgStatsReconciler periodically recomputes them to repair any drift.
+
+-----------------------------
+-- Tables
+-----------------------------
+
+-- ORG_STATS
+CREATE TABLE IF NOT EXISTS org_stats (
+  org_id        UUID PRIMARY KEY,
+  member_total  BIGINT NOT NULL DEFAULT 0,
+  owners        BIGINT NOT NULL DEFAULT 0,
+  admins        BIGINT NOT NULL DEFAULT 0,
+  members       BIGINT NOT NULL DEFAULT 0,
+  staff         BIGINT NOT NULL DEFAULT 0,
+  partners      BIGINT NOT NULL DEFAULT 0,
+  updated_at    TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+-- AUDIT_ACTIVITY_ROLLUP
+CREATE TABLE IF NOT EXISTS audit_activity_rollup (
+  org_id        UUID NOT NULL,
+  day           DATE NOT NULL,
+  action_count  BIGINT NOT NULL DEFAULT 0,
+  PRIMARY KEY (org_id, day)
+);
+
+-----------------------------
+-- Functions
+-----------------------------
+
+-- Apply a +1 / -1 delta for one membership row to org_stats
+CREATE OR REPLACE FUNCTION org_stats_apply(p_org_id UUID, p_roles TEXT[], p_member_type TEXT, p_sign INT)
+RETURNS void AS $$
+BEGIN
+  INSERT INTO org_stats AS s (org_id, member_total, owners, admins, members, staff, partners, updated_at)
+  VALUES (
+    p_org_id,
+    p_sign,
+    CASE WHEN 'OWNER'  = ANY(p_roles) THEN p_sign ELSE 0 END,
+    CASE WHEN 'ADMIN'  = ANY(p_roles) THEN p_sign ELSE 0 END,
+    CASE WHEN 'MEMBER' = ANY(p_roles) THEN p_sign ELSE 0 END,
+    CASE WHEN p_member_type = 'STAFF'   THEN p_sign ELSE 0 END,
+    CASE WHEN p_member_type = 'PARTNER' THEN p_sign ELSE 0 END,
+    now()
+  )
+  ON CONFLICT (org_id) DO UPDATE SET
+    member_total = s.member_total + EXCLUDED.member_total,
+    owners       = s.owners       + EXCLUDED.owners,
+    admins       = s.admins       + EXCLUDED.admins,
+    members      = s.members      + EXCLUDED.members,
+    staff        = s.staff        + EXCLUDED.staff,
+    partners     = s.partners     + EXCLUDED.partners,
+    updated_at   = now();
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION memberships_maintain_org_stats() RETURNS trigger AS $$
+BEGIN
+  IF TG_OP = 'UPDATE'
+     AND OLD.org_id = NEW.org_id
+     AND OLD.roles IS NOT DISTINCT FROM NEW.roles
+     AND OLD.member_type = NEW.member_type THEN
+    RETURN NULL;
+  END IF;
+
+  IF TG_OP IN ('UPDATE', 'DELETE') THEN
+    PERFORM org_stats_apply(OLD.org_id, OLD.roles, OLD.member_type, -1);
+  END IF;
+  IF TG_OP IN ('INSERT', 'UPDATE') THEN
+    PERFORM org_stats_apply(NEW.org_id, NEW.roles, NEW.member_type, 1);
+  END IF;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Statement-level so batched inserts pay one upsert per (org, day) instead of one per row
+CREATE OR REPLACE FUNCTION audit_logs_maintain_rollup() RETURNS trigger AS $$
+BEGIN
+  INSERT INTO audit_activity_rollup AS r (org_id, day, action_count)
+  SELECT n.org_id, (n.created_at AT TIME ZONE 'UTC')::date, COUNT(*)
+  FROM new_rows n
+  GROUP BY 1, 2
+  ON CONFLICT (org_id, day) DO UPDATE SET
+    action_count = r.action_count + EXCLUDED.action_count;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-----------------------------
+-- Triggers
+-----------------------------
+DO $$
+BEGIN
+  IF NOT EXISTS (SELECT 1 FROM pg_trigger WHERE tgname = 'trg_memberships_org_stats') THEN
+    CREATE TRIGGER trg_memberships_org_stats
+      AFTER INSERT OR UPDATE OR DELETE ON memberships
+      FOR EACH ROW EXECUTE FUNCTION memberships_maintain_org_stats();
+  END IF;
+
+  IF NOT EXISTS (SELECT 1 FROM pg_trigger WHERE tgname = 'trg_audit_logs_rollup') THEN
+    CREATE TRIGGER trg_audit_logs_rollup
+      AFTER INSERT ON audit_logs
+      REFERENCING NEW TABLE AS new_rows
+      FOR EACH STATEMENT EXECUTE FUNCTION audit_logs_maintain_rollup();
+  END IF;
+END$$;
+
+-----------------------------
+-- Backfill from existing data
+-----------------------------
+INSERT INTO org_stats (org_id, member_total, owners, admins, members, staff, partners, updated_at)
+SELECT
+  m.org_id,
+  COUNT(*),
+  COUNT(*) FILTER (WHERE 'OWNER'  = ANY(m.roles)),
+  COUNT(*) FILTER (WHERE 'ADMIN'  = ANY(m.roles)),
+  COUNT(*) FILTER (WHERE 'MEMBER' = ANY(m.roles)),
+  COUNT(*) FILTER (WHERE m.member_type = 'STAFF'),
+  COUNT(*) FILTER (WHERE m.member_type = 'PARTNER'),
+  now()
+FROM memberships m
+GROUP BY m.org_id
+ON CONFLICT (org_id) DO NOTHING;
+
+INSERT INTO audit_activity_rollup (org_id, day, action_count)
+SELECT a.org_id, (a.created_at AT TIME ZONE 'UTC')::date, COUNT(*)
+FROM audit_logs a
+GROUP BY 1, 2
+ON CONFLICT (org_id, day) DO NOTHING;
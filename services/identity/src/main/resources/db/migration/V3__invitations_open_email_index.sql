@@ -0,0 +1,3 @@
+-- Open invitations are looked up by email on every /me/tenants call;
+-- ux_invitations_open_unique leads with org_id and cannot serve that lookup.
+CREATE INDEX IF NOT EXISTS idx_invitations_open_email ON invitations (email) WHERE accepted_at IS NULL;
@@ -0,0 +1,159 @@
+-- Identity Service: monthly range partitioning of audit_logs on created_at
+-- Partitions are named audit_logs_YYYY_MM and cover [first day of month, first day of next month) UTC.
+-- AuditPartitionMaintainer keeps future partitions created, adds BRIN indexes to closed
+-- months and drops partitions past the retention horizon.
+
+-----------------------------
+-- Maintenance functions
+-----------------------------
+
+-- Create the partition holding p_month if missing. Returns true when created.
+CREATE OR REPLACE FUNCTION audit_logs_ensure_partition(p_month DATE) RETURNS boolean AS $$
+DECLARE
+  v_start DATE := date_trunc('month', p_month)::date;
+  v_name  TEXT := 'audit_logs_' || to_char(v_start, 'YYYY_MM');
+BEGIN
+  IF to_regclass(v_name) IS NOT NULL THEN
+    RETURN false;
+  END IF;
+  EXECUTE format(
+    'CREATE TABLE %I PARTITION OF audit_logs FOR VALUES FROM (%L) TO (%L)',
+    v_name,
+    (v_start::timestamp AT TIME ZONE 'UTC'),
+    ((v_start + INTERVAL '1 month')::timestamp AT TIME ZONE 'UTC')
+  );
+  RETURN true;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Ensure partitions exist from the current month through p_months_ahead months ahead.
+CREATE OR REPLACE FUNCTION audit_logs_ensure_partitions(p_months_ahead INT) RETURNS int AS $$
+DECLARE
+  v_created INT := 0;
+  v_month   DATE := date_trunc('month', (now() AT TIME ZONE 'UTC'))::date;
+BEGIN
+  FOR i IN 0..p_months_ahead LOOP
+    IF audit_logs_ensure_partition((v_month + make_interval(months => i))::date) THEN
+      v_created := v_created + 1;
+    END IF;
+  END LOOP;
+  RETURN v_created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- BRIN on created_at for closed (fully past) months: rows are append-only and time-ordered,
+-- so a BRIN index is a few pages where a btree would be GBs.
+CREATE OR REPLACE FUNCTION audit_logs_index_closed_partitions() RETURNS int AS $$
+DECLARE
+  r         RECORD;
+  v_created INT := 0;
+  v_current DATE := date_trunc('month', (now() AT TIME ZONE 'UTC'))::date;
+BEGIN
+  FOR r IN
+    SELECT c.relname
+    FROM pg_inherits i
+    JOIN pg_class c ON c.oid = i.inhrelid
+    WHERE i.inhparent = 'audit_logs'::regclass
+      AND c.relname ~ '^audit_logs_[0-9]{4}_[0-9]{2}$'
+      AND to_date(substring(c.relname from 12), 'YYYY_MM') < v_current
+      AND to_regclass(c.relname || '_created_brin') IS NULL
+  LOOP
+    EXECUTE format('CREATE INDEX %I ON %I USING brin (created_at)', r.relname || '_created_brin', r.relname);
+    v_created := v_created + 1;
+  END LOOP;
+  RETURN v_created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Drop partitions whose whole month lies before p_cutoff, and their rollup days.
+CREATE OR REPLACE FUNCTION audit_logs_drop_partitions_before(p_cutoff DATE) RETURNS int AS $$
+DECLARE
+  r         RECORD;
+  v_dropped INT := 0;
+BEGIN
+  FOR r IN
+    SELECT c.relname, to_date(substring(c.relname from 12), 'YYYY_MM') AS month_start
+    FROM pg_inherits i
+    JOIN pg_class c ON c.oid = i.inhrelid
+    WHERE i.inhparent = 'audit_logs'::regclass
+      AND c.relname ~ '^audit_logs_[0-9]{4}_[0-9]{2}$'
+  LOOP
+    IF (r.month_start + INTERVAL '1 month')::date <= p_cutoff THEN
+      EXECUTE format('DROP TABLE %I', r.relname);
+      DELETE FROM audit_activity_rollup
+      WHERE day >= r.month_start AND day < (r.month_start + INTERVAL '1 month')::date;
+      v_dropped := v_dropped + 1;
+    END IF;
+  END LOOP;
+  RETURN v_dropped;
+END;
+$$ LANGUAGE plpgsql;
+
+-----------------------------
+-- Convert audit_logs (skipped if already partitioned)
+-----------------------------
+DO $$
+DECLARE
+  v_first DATE;
+  v_month DATE;
+BEGIN
+  IF (SELECT relkind FROM pg_class WHERE oid = 'audit_logs'::regclass) = 'p' THEN
+    RETURN;
+  END IF;
+
+  ALTER TABLE audit_logs RENAME TO audit_logs_legacy;
+
+  -- Primary key must include the partition key
+  CREATE TABLE audit_logs (
+    id             UUID NOT NULL DEFAULT gen_random_uuid(),
+    org_id         UUID NOT NULL REFERENCES organizations(id),
+    user_id        UUID REFERENCES users(id),
+    action         VARCHAR(50) NOT NULL,
+    description    TEXT,
+    metadata       JSONB DEFAULT '{}',
+    ip_address     VARCHAR(45),
+    user_agent     VARCHAR(500),
+    created_at     TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (id, created_at)
+  ) PARTITION BY RANGE (created_at);
+
+  -- Partitions for existing history, then the current month and 3 ahead
+  SELECT date_trunc('month', MIN(created_at) AT TIME ZONE 'UTC')::date INTO v_first FROM audit_logs_legacy;
+  v_month := v_first;
+  WHILE v_month IS NOT NULL AND v_month < date_trunc('month', (now() AT TIME ZONE 'UTC'))::date LOOP
+    PERFORM audit_logs_ensure_partition(v_month);
+    v_month := (v_month + INTERVAL '1 month')::date;
+  END LOOP;
+  PERFORM audit_logs_ensure_partitions(3);
+
+  -- Copy before the rollup trigger exists so existing counts are not added twice
+  INSERT INTO audit_logs (id, org_id, user_id, action, description, metadata, ip_address, user_agent, created_at)
+  SELECT id, org_id, user_id, action, description, metadata, ip_address, user_agent, created_at
+  FROM audit_logs_legacy;
+
+  -- Also drops the legacy indexes and trg_audit_logs_rollup
+  DROP TABLE audit_logs_legacy;
+END$$;
+
+-----------------------------
+-- Indexes (created on every partition)
+-----------------------------
+CREATE INDEX IF NOT EXISTS idx_audit_logs_org_created ON audit_logs(org_id, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_logs_org_action ON audit_logs(org_id, action);
+CREATE INDEX IF NOT EXISTS idx_audit_logs_user_id ON audit_logs(user_id);
+CREATE INDEX IF NOT EXISTS idx_audit_logs_metadata ON audit_logs USING GIN(metadata);
+
+SELECT audit_logs_index_closed_partitions();
+
+-----------------------------
+-- Rollup trigger (statement-level triggers with transition tables are supported on partitioned tables)
+-----------------------------
+DO $$
+BEGIN
+  IF NOT EXISTS (SELECT 1 FROM pg_trigger WHERE tgname = 'trg_audit_logs_rollup') THEN
+    CREATE TRIGGER trg_audit_logs_rollup
+      AFTER INSERT ON audit_logs
+      REFERENCING NEW TABLE AS new_rows
+      FOR EACH STATEMENT EXECUTE FUNCTION audit_logs_maintain_rollup();
+  END IF;
+END$$;
@@ -0,0 +1,19 @@
+-- Identity Service: cold archive index for audit_logs
+-- Closed monthly partitions past the hot window are written to gzip NDJSON segment files
+-- (rows sorted by org_id, created_at) and the partition is dropped. Each segment is
+-- registered here with its org / time bounds so reads can skip segments that cannot match.
+
+CREATE TABLE IF NOT EXISTS audit_archive_segments (
+  id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  month           DATE NOT NULL,
+  path            TEXT NOT NULL UNIQUE,
+  row_count       BIGINT NOT NULL,
+  min_org_id      UUID NOT NULL,
+  max_org_id      UUID NOT NULL,
+  min_created_at  TIMESTAMPTZ NOT NULL,
+  max_created_at  TIMESTAMPTZ NOT NULL,
+  created_at      TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_audit_archive_segments_month ON audit_archive_segments (month);
+CREATE INDEX IF NOT EXISTS idx_audit_archive_segments_org_range ON audit_archive_segments (min_org_id, max_org_id);
@@ -0,0 +1,21 @@
+-- Identity Service: full-text search over audit_logs
+-- search_vector is a stored generated column: the searchable metadata fields (weight A)
+-- plus the description (weight B), tokenized with the 'simple' configuration so emails,
+-- slugs and non-English text are indexed as-is without stemming.
+-- Adding the column on the partitioned parent propagates it to every partition.
+
+-- btree_gin lets org_id live in the same GIN index as the tsvector, so a search is one
+-- index scan restricted to the org instead of a global match filtered afterwards.
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+ALTER TABLE audit_logs
+  ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple',
+      coalesce(metadata->>'email', '')       || ' ' ||
+      coalesce(metadata->>'slug', '')        || ' ' ||
+      coalesce(metadata->>'displayName', '') || ' ' ||
+      coalesce(metadata->>'reason', '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+  ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_audit_logs_org_search ON audit_logs USING gin (org_id, search_vector);
@@ -0,0 +1,20 @@
+-- Identity Service: row version for organizations
+-- version is bumped (and updated_at refreshed) by trigger on every update that changes the
+-- row, so caches and HTTP validators can tell copies apart without comparing contents.
+-- The application never writes either column.
+ALTER TABLE organizations ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+CREATE OR REPLACE FUNCTION organizations_bump_version() RETURNS trigger AS $$
+BEGIN
+  IF NEW IS DISTINCT FROM OLD THEN
+    NEW.version := OLD.version + 1;
+    NEW.updated_at := now();
+  END IF;
+  RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_organizations_version ON organizations;
+CREATE TRIGGER trg_organizations_version
+  BEFORE UPDATE ON organizations
+  FOR EACH ROW EXECUTE FUNCTION organizations_bump_version();
@@ -0,0 +1,33 @@
+-- Identity Service: row version for users (same scheme as V7 for organizations)
+-- version is bumped (and updated_at refreshed) by trigger on every update that changes the
+-- row. Linking or unlinking an external identity touches the user row too, since the
+-- profile shows the sign-in provider. The application never writes either column.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+CREATE OR REPLACE FUNCTION users_bump_version() RETURNS trigger AS $$
+BEGIN
+  IF NEW IS DISTINCT FROM OLD THEN
+    NEW.version := OLD.version + 1;
+    NEW.updated_at := now();
+  END IF;
+  RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_users_version ON users;
+CREATE TRIGGER trg_users_version
+  BEFORE UPDATE ON users
+  FOR EACH ROW EXECUTE FUNCTION users_bump_version();
+
+CREATE OR REPLACE FUNCTION external_identities_touch_user() RETURNS trigger AS $$
+BEGIN
+  UPDATE users SET updated_at = now()
+   WHERE id = CASE WHEN TG_OP = 'DELETE' THEN OLD.user_id ELSE NEW.user_id END;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_external_identities_touch_user ON external_identities;
+CREATE TRIGGER trg_external_identities_touch_user
+  AFTER INSERT OR DELETE ON external_identities
+  FOR EACH ROW EXECUTE FUNCTION external_identities_touch_user();
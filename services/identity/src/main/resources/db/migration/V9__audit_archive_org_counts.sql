@@ -0,0 +1,12 @@
+-- Identity Service: per-org row counts of archived audit months
+-- Written when a month is archived, so paginated reads that reach into the archive can
+-- report totals (exact without filters, an upper bound with them) without decompressing
+-- segments. Months archived before this migration have no rows here and are counted by
+-- reading them once.
+
+CREATE TABLE IF NOT EXISTS audit_archive_org_counts (
+  month      DATE NOT NULL,
+  org_id     UUID NOT NULL,
+  row_count  BIGINT NOT NULL,
+  PRIMARY KEY (org_id, month)
+);